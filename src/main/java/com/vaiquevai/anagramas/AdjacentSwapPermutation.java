@@ -0,0 +1,26 @@
+package com.vaiquevai.anagramas;
+
+/**
+ * Anagrama na ordem de troca mínima (Steinhaus–Johnson–Trotter):
+ * cada resultado difere do anterior pela troca das letras nas posições
+ * {@link #esquerda()} e {@link #direita()}, que são vizinhas.
+ * Quem mantém estado derivado por permutação (pontuação, hash rolante etc.)
+ * pode atualizá-lo em O(1) aplicando apenas essa troca.
+ * <p>
+ * As posições são contadas em letras (code points), não em {@code char}s.
+ *
+ * @param anagrama permutação corrente
+ * @param esquerda posição da troca em relação ao resultado anterior, ou {@code -1} no primeiro resultado
+ */
+public record AdjacentSwapPermutation(String anagrama, int esquerda) {
+
+    /** @return posição à direita da troca ({@code esquerda() + 1}), ou {@code -1} no primeiro resultado */
+    public int direita() {
+        return esquerda < 0 ? -1 : esquerda + 1;
+    }
+
+    /** @return {@code true} para o primeiro resultado, que não vem de uma troca */
+    public boolean isPrimeira() {
+        return esquerda < 0;
+    }
+}
@@ -0,0 +1,70 @@
+package com.vaiquevai.anagramas;
+
+/**
+ * Resposta do {@link AdmissionController} a um pedido.
+ * Quando admitida, a parcela do orçamento fica reservada até {@link #close()};
+ * use em {@code try-with-resources}. Fechar uma admissão recusada, ou fechar duas vezes, não tem efeito.
+ */
+public final class Admission implements AutoCloseable {
+
+    /** Desfecho do pedido de admissão. */
+    public enum Motivo {
+        /** O pedido pode executar. */
+        ADMITIDA,
+        /** O custo sozinho passa do orçamento global: nunca seria admitido. */
+        CUSTO_ACIMA_DO_ORCAMENTO,
+        /** O orçamento não liberou espaço dentro do tempo de espera. */
+        ESPERA_ESGOTADA,
+        /** A thread foi interrompida enquanto esperava (a flag de interrupção é preservada). */
+        INTERROMPIDA
+    }
+
+    private final AdmissionController controlador;
+    private final Motivo motivo;
+    private final long custo;
+    private final long orcamento;
+    /** Se o custo foi descontado do orçamento (pedidos baratos passam direto, sem reserva). */
+    private boolean reservada;
+
+    Admission(AdmissionController controlador, Motivo motivo, long custo, long orcamento, boolean reservada) {
+        this.controlador = controlador;
+        this.motivo = motivo;
+        this.custo = custo;
+        this.orcamento = orcamento;
+        this.reservada = reservada;
+    }
+
+    public Motivo motivo() {
+        return motivo;
+    }
+
+    /** @return custo estimado do pedido, em operações de caractere */
+    public long custo() {
+        return custo;
+    }
+
+    public boolean isAdmitida() {
+        return motivo == Motivo.ADMITIDA;
+    }
+
+    /** Explicação legível do desfecho, própria para mensagens de erro e logs. */
+    public String mensagem() {
+        return switch (motivo) {
+            case ADMITIDA -> "Pedido admitido (custo " + custo + ").";
+            case CUSTO_ACIMA_DO_ORCAMENTO -> "Pedido recusado: custo estimado " + custo
+                    + " acima do orçamento total " + orcamento + ".";
+            case ESPERA_ESGOTADA -> "Pedido recusado: o orçamento de " + orcamento
+                    + " não liberou espaço para o custo " + custo + " dentro do tempo de espera.";
+            case INTERROMPIDA -> "Pedido recusado: espera interrompida.";
+        };
+    }
+
+    /** Devolve a parcela reservada ao orçamento. */
+    @Override
+    public void close() {
+        if (reservada) {
+            reservada = false;
+            controlador.liberar(custo);
+        }
+    }
+}
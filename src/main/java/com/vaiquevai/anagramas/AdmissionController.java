@@ -0,0 +1,203 @@
+package com.vaiquevai.anagramas;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Controle de admissão por custo na frente do gerador, para proteger threads compartilhadas
+ * de entradas enormes sem fixar um limite de letras.
+ * <p>
+ * O custo de um pedido é a quantidade de caracteres que ele produz: n! × n para n letras distintas
+ * (ou, até {@link #MAXIMO_LETRAS_CONTAGEM_EXATA} letras, a contagem com restrições × n).
+ * Pedidos executando ao mesmo tempo somam no máximo {@code orcamento}; quem não cabe espera em fila
+ * (ordem de chegada, para que pedidos caros não sejam passados para trás indefinidamente) ou é recusado com o motivo em {@link Admission#mensagem()}.
+ * Pedidos com custo até {@code custoLivre} nem entram na contabilidade: passam direto, sem trava.
+ *
+ * <pre>{@code
+ * AdmissionController controle = new AdmissionController(50_000_000, 10_000);
+ * try (Admission admissao = controle.admitir(entrada, Duration.ofMillis(100))) {
+ *     if (!admissao.isAdmitida()) {
+ *         return erro(admissao.mensagem());
+ *     }
+ *     return AnagramGenerator.gerarAnagramas(entrada);
+ * }
+ * }</pre>
+ */
+public final class AdmissionController {
+
+    /**
+     * Acima disso o custo com restrições usa o limite n! × n em vez da contagem exata:
+     * a contagem custa O(2^n · n²) e não pode virar, ela mesma, a carga que a admissão deveria barrar.
+     */
+    static final int MAXIMO_LETRAS_CONTAGEM_EXATA = 12;
+
+    private final long orcamento;
+    private final long custoLivre;
+
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Condition mudou = trava.newCondition();
+    /** Pedidos esperando, em ordem de chegada; só o primeiro pode ser admitido. */
+    private final ArrayDeque<Object> fila = new ArrayDeque<>();
+    private long emUso;
+
+    /**
+     * @param orcamento  soma máxima dos custos admitidos simultaneamente (positiva)
+     * @param custoLivre custo até o qual o pedido passa direto, sem consumir orçamento (0 desliga)
+     */
+    public AdmissionController(long orcamento, long custoLivre) {
+        if (orcamento <= 0) {
+            throw new IllegalArgumentException("O orçamento deve ser positivo: " + orcamento);
+        }
+        if (custoLivre < 0 || custoLivre > orcamento) {
+            throw new IllegalArgumentException("O custo livre deve estar entre 0 e o orçamento: " + custoLivre);
+        }
+        this.orcamento = orcamento;
+        this.custoLivre = custoLivre;
+    }
+
+    /**
+     * Custo estimado de gerar todos os anagramas: n! × n caracteres, saturando em {@code Long.MAX_VALUE}.
+     *
+     * @throws IllegalArgumentException se a entrada for inválida
+     */
+    public static long custo(String entrada) {
+        int n = Alphabet.of(entrada).tamanho();
+        return n > PermutationRank.MAXIMO_LETRAS ? Long.MAX_VALUE : multiplicar(PermutationRank.fatorial(n), n);
+    }
+
+    /**
+     * Custo estimado com restrições: quantidade de anagramas aceitos × n, contada em no máximo alguns
+     * milissegundos. Acima de {@link #MAXIMO_LETRAS_CONTAGEM_EXATA} letras devolve o limite superior
+     * {@link #custo(String)}, que ignora as restrições e satura em {@code Long.MAX_VALUE} acima de
+     * {@link PermutationRank#MAXIMO_LETRAS} letras; a recusa fica a cargo do orçamento.
+     *
+     * @throws IllegalArgumentException se a entrada for inválida
+     */
+    public static long custo(String entrada, AnagramConstraints restricoes) {
+        Objects.requireNonNull(restricoes, "restricoes");
+        int n = Alphabet.of(entrada).tamanho();
+        if (n > MAXIMO_LETRAS_CONTAGEM_EXATA) {
+            return custo(entrada);
+        }
+        return multiplicar(AnagramGenerator.contarAnagramas(entrada, restricoes), n);
+    }
+
+    private static long multiplicar(long quantidade, int n) {
+        return quantidade > Long.MAX_VALUE / n ? Long.MAX_VALUE : quantidade * n;
+    }
+
+    /**
+     * Pede admissão para gerar todos os anagramas da entrada.
+     *
+     * @param espera tempo máximo na fila ({@link Duration#ZERO} recusa na hora se não couber)
+     * @throws IllegalArgumentException se a entrada for inválida
+     */
+    public Admission admitir(String entrada, Duration espera) {
+        return admitirCusto(custo(entrada), espera);
+    }
+
+    /**
+     * Pede admissão para gerar os anagramas que satisfazem as restrições. Compara primeiro o limite
+     * barato n! × n: se ele já passa direto, a contagem exata nem é feita.
+     *
+     * @param espera tempo máximo na fila ({@link Duration#ZERO} recusa na hora se não couber)
+     * @throws IllegalArgumentException se a entrada for inválida
+     */
+    public Admission admitir(String entrada, AnagramConstraints restricoes, Duration espera) {
+        long limite = custo(entrada);
+        return admitirCusto(limite <= custoLivre ? limite : custo(entrada, restricoes), espera);
+    }
+
+    /**
+     * Pede admissão para um custo já calculado (ex.: com {@link #custo(String, AnagramConstraints)}).
+     */
+    public Admission admitirCusto(long custo, Duration espera) {
+        Objects.requireNonNull(espera, "espera");
+        if (custo < 0) {
+            throw new IllegalArgumentException("O custo não pode ser negativo: " + custo);
+        }
+        if (custo <= custoLivre) {
+            return new Admission(this, Admission.Motivo.ADMITIDA, custo, orcamento, false);
+        }
+        if (custo > orcamento) {
+            return new Admission(this, Admission.Motivo.CUSTO_ACIMA_DO_ORCAMENTO, custo, orcamento, false);
+        }
+        long restante = espera.isNegative() ? 0 : saturar(espera);
+        Object vez = new Object();
+        trava.lock();
+        try {
+            fila.addLast(vez);
+            while (fila.peekFirst() != vez || emUso + custo > orcamento) {
+                if (restante <= 0) {
+                    return desistir(vez, Admission.Motivo.ESPERA_ESGOTADA, custo);
+                }
+                try {
+                    restante = mudou.awaitNanos(restante);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return desistir(vez, Admission.Motivo.INTERROMPIDA, custo);
+                }
+            }
+            fila.removeFirst();
+            emUso += custo;
+            mudou.signalAll(); // o próximo da fila pode caber no que sobrou
+            return new Admission(this, Admission.Motivo.ADMITIDA, custo, orcamento, true);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Gera os anagramas se o pedido for admitido, liberando o orçamento ao terminar.
+     *
+     * @throws RejectedExecutionException com o motivo da recusa
+     * @throws IllegalArgumentException   se a entrada for inválida
+     */
+    public List<String> gerarAnagramas(String entrada, Duration espera) {
+        try (Admission admissao = admitir(entrada, espera)) {
+            if (!admissao.isAdmitida()) {
+                throw new RejectedExecutionException(admissao.mensagem());
+            }
+            return AnagramGenerator.gerarAnagramas(entrada);
+        }
+    }
+
+    /** Soma dos custos admitidos e ainda não liberados. */
+    public long emUso() {
+        trava.lock();
+        try {
+            return emUso;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    void liberar(long custo) {
+        trava.lock();
+        try {
+            emUso -= custo;
+            mudou.signalAll();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private Admission desistir(Object vez, Admission.Motivo motivo, long custo) {
+        fila.remove(vez);
+        mudou.signalAll(); // quem estava atrás pode ter virado o primeiro
+        return new Admission(this, motivo, custo, orcamento, false);
+    }
+
+    private static long saturar(Duration espera) {
+        try {
+            return espera.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
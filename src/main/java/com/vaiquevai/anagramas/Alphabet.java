@@ -0,0 +1,189 @@
+package com.vaiquevai.anagramas;
+
+import java.util.Arrays;
+
+/**
+ * Alfabeto validado de uma entrada: suas letras distintas como code points, em ordem crescente.
+ * Trabalhar com code points (e não com {@code char}) garante que letras fora do
+ * plano básico (BMP), representadas por pares substitutos em UTF-16, sejam permutadas inteiras.
+ * <p>
+ * Os motores de geração permutam índices {@code 0..n-1} deste alfabeto e usam
+ * {@link #montar(int[], int, char[])} para transformar a permutação em {@code String}.
+ */
+final class Alphabet {
+
+    private final int[] codePoints;
+    /** Letras como {@code char} quando todas estão no BMP (caminho rápido de montagem); senão {@code null}. */
+    private final char[] letrasBmp;
+    private final int comprimentoEmChars;
+
+    private Alphabet(int[] codePointsOrdenados) {
+        this.codePoints = codePointsOrdenados;
+        int chars = 0;
+        boolean bmp = true;
+        for (int cp : codePointsOrdenados) {
+            chars += Character.charCount(cp);
+            bmp &= Character.isBmpCodePoint(cp);
+        }
+        this.comprimentoEmChars = chars;
+        if (bmp) {
+            letrasBmp = new char[codePointsOrdenados.length];
+            for (int i = 0; i < letrasBmp.length; i++) {
+                letrasBmp[i] = (char) codePointsOrdenados[i];
+            }
+        } else {
+            letrasBmp = null;
+        }
+    }
+
+    /**
+     * Valida a entrada e constrói seu alfabeto ordenado.
+     * Espaços nas extremidades são ignorados.
+     *
+     * @throws IllegalArgumentException se a entrada for nula, vazia, contiver não-letras ou repetição
+     */
+    static Alphabet of(String entrada) {
+        if (entrada == null) {
+            throw nula();
+        }
+        entrada = entrada.trim();
+        if (entrada.isEmpty()) {
+            throw vazia();
+        }
+        int[] cps = entrada.codePoints().toArray();
+        // Apenas letras (aceita Unicode, ex.: acentuação), ajuste se quiser restringir a A-Z/a-z.
+        // Um substituto isolado não é letra e cai aqui.
+        boolean latin1 = true;
+        for (int cp : cps) {
+            if (!Character.isLetter(cp)) {
+                throw naoLetra(cp);
+            }
+            latin1 &= cp < 256;
+        }
+        return new Alphabet(latin1 ? ordenarLatin1(cps) : ordenarGeral(cps));
+    }
+
+    /**
+     * Caminho rápido para ASCII/Latin-1: um bitset de 256 bits detecta repetição
+     * e, percorrido em ordem, já entrega as letras ordenadas (sem {@code Arrays.sort}).
+     */
+    private static int[] ordenarLatin1(int[] cps) {
+        long[] vistos = new long[4];
+        for (int cp : cps) {
+            long bit = 1L << cp; // usa os 6 bits baixos de cp
+            if ((vistos[cp >>> 6] & bit) != 0) {
+                throw repetida(cp);
+            }
+            vistos[cp >>> 6] |= bit;
+        }
+        int[] ordenados = new int[cps.length];
+        int k = 0;
+        for (int palavra = 0; palavra < vistos.length; palavra++) {
+            long bits = vistos[palavra];
+            while (bits != 0) {
+                ordenados[k++] = (palavra << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return ordenados;
+    }
+
+    /** Caso geral: ordena os code points e procura repetição entre vizinhos. */
+    private static int[] ordenarGeral(int[] cps) {
+        Arrays.sort(cps);
+        for (int i = 1; i < cps.length; i++) {
+            if (cps[i] == cps[i - 1]) {
+                throw repetida(cps[i]);
+            }
+        }
+        return cps;
+    }
+
+    // Mensagens compartilhadas com quem valida sem construir um Alphabet (ReusableAnagramGenerator).
+
+    static IllegalArgumentException nula() {
+        return new IllegalArgumentException("Entrada nula não é permitida.");
+    }
+
+    static IllegalArgumentException vazia() {
+        return new IllegalArgumentException("Entrada vazia não é permitida.");
+    }
+
+    static IllegalArgumentException naoLetra(int cp) {
+        return new IllegalArgumentException("A entrada deve conter apenas letras. Caractere inválido: '" + texto(cp) + "'");
+    }
+
+    static IllegalArgumentException repetida(int cp) {
+        return new IllegalArgumentException("A entrada deve conter letras distintas (sem repetição). Letra repetida: '" + texto(cp) + "'");
+    }
+
+    private static String texto(int cp) {
+        return new String(Character.toChars(cp));
+    }
+
+    /** Quantidade de letras (n). */
+    int tamanho() {
+        return codePoints.length;
+    }
+
+    int codePoint(int indice) {
+        return codePoints[indice];
+    }
+
+    /** @return índice da letra no alfabeto, ou um valor negativo se ela não fizer parte dele */
+    int indice(int codePoint) {
+        return Arrays.binarySearch(codePoints, codePoint);
+    }
+
+    /** Letras em ordem crescente: forma canônica da entrada, igual para todas as suas permutações. */
+    String ordenadas() {
+        return new String(codePoints, 0, codePoints.length);
+    }
+
+    /** Tamanho, em {@code char}s, de qualquer anagrama completo. */
+    int comprimentoEmChars() {
+        return comprimentoEmChars;
+    }
+
+    /** @return {@code true} se todas as letras cabem em um {@code char} */
+    boolean isBmp() {
+        return letrasBmp != null;
+    }
+
+    /**
+     * Monta a string das primeiras {@code quantidade} letras da permutação de índices.
+     *
+     * @param buffer área de trabalho com pelo menos {@link #comprimentoEmChars()} posições
+     */
+    String montar(int[] indices, int quantidade, char[] buffer) {
+        if (letrasBmp != null) {
+            for (int i = 0; i < quantidade; i++) {
+                buffer[i] = letrasBmp[indices[i]];
+            }
+            return new String(buffer, 0, quantidade);
+        }
+        int pos = 0;
+        for (int i = 0; i < quantidade; i++) {
+            pos += Character.toChars(codePoints[indices[i]], buffer, pos);
+        }
+        return new String(buffer, 0, pos);
+    }
+
+    /**
+     * Como {@link #montar(int[], int, char[])}, lendo os índices de um trecho de um
+     * modelo compacto de {@link PermutationTemplates}.
+     */
+    String montar(byte[] modelo, int inicio, int quantidade, char[] buffer) {
+        if (letrasBmp != null) {
+            for (int i = 0; i < quantidade; i++) {
+                buffer[i] = letrasBmp[modelo[inicio + i]];
+            }
+            return new String(buffer, 0, quantidade);
+        }
+        int pos = 0;
+        for (int i = 0; i < quantidade; i++) {
+            pos += Character.toChars(codePoints[modelo[inicio + i]], buffer, pos);
+        }
+        return new String(buffer, 0, pos);
+    }
+}
@@ -0,0 +1,159 @@
+package com.vaiquevai.anagramas;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Modo lote do {@link App}: lê uma entrada por linha, gera os anagramas de várias linhas
+ * em paralelo e grava os blocos de resultado na ordem das linhas de entrada.
+ * <p>
+ * Formato de cada bloco:
+ * <pre>
+ * &gt; abc
+ * abc
+ * acb
+ * ...
+ * (linha vazia)
+ * </pre>
+ * Uma linha inválida não interrompe o lote: seu bloco traz {@code Erro: <mensagem>} no lugar dos anagramas.
+ * <p>
+ * Há no máximo {@code pendentes} linhas em processamento ou aguardando gravação, e a soma do tamanho
+ * estimado dos seus blocos (n!·(n+1) chars por linha) não passa de um orçamento; quando um dos dois
+ * limites é atingido, a leitura espera o bloco mais antigo ser gravado. Um bloco maior que o orçamento
+ * ainda é aceito, mas sozinho. Assim a memória fica limitada mesmo para arquivos com milhões de linhas
+ * ou muitas linhas de 10 letras (cerca de 40M chars cada), e a saída continua na ordem da entrada.
+ */
+final class AnagramBatch {
+
+    /** Maior entrada aceita por linha: o bloco de 10 letras já tem 10! = 3.628.800 linhas. */
+    static final int MAXIMO_LETRAS = 10;
+
+    /** Orçamento padrão de chars em voo: um bloco de 10 letras e folga para linhas menores. */
+    static final long ORCAMENTO_PADRAO = 64L * 1024 * 1024;
+
+    /** Folga para o cabeçalho e a mensagem de um bloco de erro. */
+    private static final int CUSTO_FIXO = 256;
+
+    static final String MARCADOR = "> ";
+    static final String ERRO = "Erro: ";
+    private static final String FIM = System.lineSeparator();
+
+    private AnagramBatch() {
+        // Classe utilitária: construtor privado para evitar instanciação
+    }
+
+    /** Como {@link #processar(BufferedReader, Writer, int, int, long)} com o {@link #ORCAMENTO_PADRAO}. */
+    static long processar(BufferedReader entrada, Writer saida, int threads, int pendentes) throws IOException {
+        return processar(entrada, saida, threads, pendentes, ORCAMENTO_PADRAO);
+    }
+
+    /**
+     * Processa todas as linhas de {@code entrada} e grava os blocos em {@code saida}.
+     *
+     * @param threads   linhas processadas em paralelo
+     * @param pendentes máximo de blocos em processamento ou à espera de gravação (pelo menos {@code threads})
+     * @param orcamento máximo de chars estimados em blocos em processamento ou à espera de gravação
+     * @return quantidade de linhas com erro
+     * @throws IllegalArgumentException se {@code threads}, {@code pendentes} ou {@code orcamento} não forem positivos
+     */
+    static long processar(BufferedReader entrada, Writer saida, int threads, int pendentes, long orcamento)
+            throws IOException {
+        if (threads <= 0 || pendentes <= 0 || orcamento <= 0) {
+            throw new IllegalArgumentException("Threads, pendentes e orçamento devem ser positivos: "
+                    + threads + ", " + pendentes + ", " + orcamento);
+        }
+        ExecutorService trabalhadores = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "anagramas-lote");
+            t.setDaemon(true);
+            return t;
+        });
+        Deque<Pendente> fila = new ArrayDeque<>(pendentes);
+        long emVoo = 0;
+        long erros = 0;
+        try {
+            String linha;
+            while ((linha = entrada.readLine()) != null) {
+                long custo = custoEstimado(linha);
+                while (!fila.isEmpty() && (fila.size() == pendentes || emVoo + custo > orcamento)) {
+                    Pendente pronto = fila.removeFirst();
+                    emVoo -= pronto.custo();
+                    erros += gravar(pronto.bloco(), saida);
+                }
+                String atual = linha;
+                fila.addLast(new Pendente(trabalhadores.submit(() -> bloco(atual)), custo));
+                emVoo += custo;
+            }
+            while (!fila.isEmpty()) {
+                erros += gravar(fila.removeFirst().bloco(), saida);
+            }
+            saida.flush();
+        } finally {
+            trabalhadores.shutdownNow();
+        }
+        return erros;
+    }
+
+    /**
+     * Tamanho, em chars, do bloco de uma linha válida (ou um limite superior para ela), sem gerar nada.
+     * Linhas longas demais custam só o registro de erro.
+     */
+    static long custoEstimado(String linha) {
+        long fixo = CUSTO_FIXO + MARCADOR.length() + linha.length() + 2L * FIM.length();
+        String letras = linha.trim();
+        int n = letras.codePointCount(0, letras.length());
+        if (n == 0 || n > MAXIMO_LETRAS) {
+            return fixo;
+        }
+        return fixo + PermutationRank.fatorial(n) * (letras.length() + FIM.length());
+    }
+
+    /** Gera o bloco de uma linha; nunca lança exceção de validação, que vira registro de erro. */
+    static Bloco bloco(String linha) {
+        // capacidade exata: sem as cópias de crescimento do StringBuilder em blocos de dezenas de milhões de chars
+        StringBuilder sb = new StringBuilder((int) custoEstimado(linha)).append(MARCADOR).append(linha).append(FIM);
+        try {
+            Alphabet alfabeto = Alphabet.of(linha);
+            if (alfabeto.tamanho() > MAXIMO_LETRAS) {
+                throw new IllegalArgumentException("O modo lote aceita até " + MAXIMO_LETRAS
+                        + " letras por linha: " + alfabeto.tamanho());
+            }
+            AnagramIterator anagramas = new AnagramIterator(alfabeto);
+            while (anagramas.hasNext()) {
+                sb.append(anagramas.next()).append(FIM);
+            }
+            return new Bloco(sb.append(FIM).toString(), false);
+        } catch (IllegalArgumentException e) {
+            sb.setLength(MARCADOR.length() + linha.length() + FIM.length());
+            return new Bloco(sb.append(ERRO).append(e.getMessage()).append(FIM).append(FIM).toString(), true);
+        }
+    }
+
+    private static int gravar(Future<Bloco> pendente, Writer saida) throws IOException {
+        Bloco bloco;
+        try {
+            bloco = pendente.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Lote interrompido.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Falha inesperada ao processar uma linha do lote.", e.getCause());
+        }
+        saida.write(bloco.texto());
+        return bloco.erro() ? 1 : 0;
+    }
+
+    /** Bloco agendado e o custo estimado que ele ocupa no orçamento. */
+    private record Pendente(Future<Bloco> bloco, long custo) {
+    }
+
+    /** Texto pronto de uma linha de entrada e se ele é um registro de erro. */
+    record Bloco(String texto, boolean erro) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.vaiquevai.anagramas;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Restrições verificadas durante a busca, a cada letra posicionada:
+ * letras permitidas por posição (incluindo prefixo e sufixo) e pares de letras que não podem ficar lado a lado.
+ * Uma subárvore inteira é descartada assim que viola uma restrição, em vez de filtrar a lista completa depois.
+ * Imutável; cada método {@code com...}/{@code sem...} devolve uma nova instância.
+ *
+ * <pre>{@code
+ * AnagramConstraints r = AnagramConstraints.nenhuma()
+ *         .comLetrasPermitidas(0, "aeiou")   // começa com vogal
+ *         .comSufixo("s")                    // termina com "s"
+ *         .semAdjacencia("r", "t");          // "r" e "t" nunca vizinhos
+ * }</pre>
+ * Posições negativas contam a partir do fim: {@code -1} é a última letra.
+ */
+public final class AnagramConstraints {
+
+    private static final AnagramConstraints NENHUMA = new AnagramConstraints(List.of(), List.of());
+
+    /** Letras permitidas (ou, com {@code proibidas}, vetadas) em uma posição (code points). */
+    record Posicional(int posicao, int[] letras, boolean proibidas) {
+    }
+
+    /** Par de letras que não podem ser vizinhas, em qualquer ordem. */
+    record Adjacencia(int a, int b) {
+    }
+
+    private final List<Posicional> posicionais;
+    private final List<Adjacencia> adjacencias;
+
+    private AnagramConstraints(List<Posicional> posicionais, List<Adjacencia> adjacencias) {
+        this.posicionais = posicionais;
+        this.adjacencias = adjacencias;
+    }
+
+    /** Sem restrições: a busca equivale à geração completa. */
+    public static AnagramConstraints nenhuma() {
+        return NENHUMA;
+    }
+
+    /**
+     * Restringe a posição às letras informadas. Várias regras na mesma posição se combinam por interseção.
+     *
+     * @param posicao posição a partir de 0, ou negativa a partir do fim ({@code -1} = última)
+     * @param letras  letras aceitas na posição, ex.: "aeiou"
+     */
+    public AnagramConstraints comLetrasPermitidas(int posicao, String letras) {
+        Objects.requireNonNull(letras, "letras");
+        if (letras.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma letra permitida para a posição " + posicao + ".");
+        }
+        return comPosicional(new Posicional(posicao, letras.codePoints().toArray(), false));
+    }
+
+    /**
+     * Veta as letras informadas na posição (as demais letras da entrada continuam permitidas).
+     *
+     * @param posicao posição a partir de 0, ou negativa a partir do fim ({@code -1} = última)
+     * @param letras  letras recusadas na posição, ex.: "xyz"
+     */
+    public AnagramConstraints comLetrasProibidas(int posicao, String letras) {
+        Objects.requireNonNull(letras, "letras");
+        return comPosicional(new Posicional(posicao, letras.codePoints().toArray(), true));
+    }
+
+    private AnagramConstraints comPosicional(Posicional regra) {
+        List<Posicional> novas = new ArrayList<>(posicionais);
+        novas.add(regra);
+        return new AnagramConstraints(Collections.unmodifiableList(novas), adjacencias);
+    }
+
+    /** Exige que os anagramas comecem com {@code prefixo}. */
+    public AnagramConstraints comPrefixo(String prefixo) {
+        AnagramConstraints r = this;
+        int[] cps = prefixo.codePoints().toArray();
+        for (int i = 0; i < cps.length; i++) {
+            r = r.comLetrasPermitidas(i, Character.toString(cps[i]));
+        }
+        return r;
+    }
+
+    /** Exige que os anagramas terminem com {@code sufixo}. */
+    public AnagramConstraints comSufixo(String sufixo) {
+        AnagramConstraints r = this;
+        int[] cps = sufixo.codePoints().toArray();
+        for (int i = 0; i < cps.length; i++) {
+            r = r.comLetrasPermitidas(i - cps.length, Character.toString(cps[i]));
+        }
+        return r;
+    }
+
+    /**
+     * Proíbe que as duas letras apareçam lado a lado, em qualquer ordem.
+     *
+     * @param a uma letra (um único code point)
+     * @param b outra letra (um único code point)
+     */
+    public AnagramConstraints semAdjacencia(String a, String b) {
+        List<Adjacencia> novas = new ArrayList<>(adjacencias);
+        novas.add(new Adjacencia(letraUnica(a), letraUnica(b)));
+        return new AnagramConstraints(posicionais, Collections.unmodifiableList(novas));
+    }
+
+    /** @return {@code true} se não há nenhuma restrição */
+    public boolean isVazia() {
+        return posicionais.isEmpty() && adjacencias.isEmpty();
+    }
+
+    /**
+     * Traduz as restrições para máscaras de bits sobre os índices do alfabeto.
+     *
+     * @throws IllegalArgumentException se houver restrições e o alfabeto tiver mais de 64 letras
+     */
+    CompiledConstraints compilar(Alphabet alfabeto) {
+        int n = alfabeto.tamanho();
+        if (n > CompiledConstraints.MAXIMO_LETRAS) {
+            throw new IllegalArgumentException("Restrições suportam entradas de até "
+                    + CompiledConstraints.MAXIMO_LETRAS + " letras: " + n);
+        }
+        long todas = n == 64 ? -1L : (1L << n) - 1;
+        long[] permitidos = new long[n];
+        Arrays.fill(permitidos, todas);
+        boolean impossivel = false;
+        for (Posicional regra : posicionais) {
+            int pos = regra.posicao() < 0 ? n + regra.posicao() : regra.posicao();
+            if (pos < 0 || pos >= n) {
+                impossivel = true; // posição não existe em anagramas deste tamanho
+                continue;
+            }
+            long mascara = mascara(alfabeto, regra.letras());
+            permitidos[pos] &= regra.proibidas() ? ~mascara : mascara;
+        }
+        long[] proibidosApos = new long[n];
+        for (Adjacencia par : adjacencias) {
+            int a = alfabeto.indice(par.a());
+            int b = alfabeto.indice(par.b());
+            if (a >= 0 && b >= 0) {
+                proibidosApos[a] |= 1L << b;
+                proibidosApos[b] |= 1L << a;
+            }
+        }
+        if (impossivel) {
+            Arrays.fill(permitidos, 0L);
+        }
+        return new CompiledConstraints(n, permitidos, proibidosApos, !adjacencias.isEmpty());
+    }
+
+    private static long mascara(Alphabet alfabeto, int[] letras) {
+        long m = 0;
+        for (int cp : letras) {
+            int i = alfabeto.indice(cp);
+            if (i >= 0) {
+                m |= 1L << i;
+            }
+        }
+        return m;
+    }
+
+    private static int letraUnica(String letra) {
+        Objects.requireNonNull(letra, "letra");
+        if (letra.codePointCount(0, letra.length()) != 1) {
+            throw new IllegalArgumentException("Informe exatamente uma letra: '" + letra + "'");
+        }
+        return letra.codePointAt(0);
+    }
+}
@@ -0,0 +1,176 @@
+package com.vaiquevai.anagramas;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Modo daemon do {@link App}: um processo de longa duração escuta em um socket Unix
+ * ({@link UnixDomainSocketAddress}) e atende pedidos de clientes finos, evitando pagar
+ * a inicialização da JVM e o JIT frio a cada chamada.
+ * <p>
+ * Protocolo (UTF-8, uma linha por campo):
+ * <ol>
+ *   <li>o cliente envia os argumentos do {@code App}, um por linha, seguidos de uma linha vazia;</li>
+ *   <li>o daemon responde {@code OK} e os anagramas, um por linha, ou {@code ERRO <mensagem>};</li>
+ *   <li>o daemon fecha a conexão ao terminar.</li>
+ * </ol>
+ * Só a entrada e {@code --shard} são aceitos remotamente: opções que mexem em arquivos
+ * ({@code --saida}, {@code --checkpoint}...) se refeririam ao sistema de arquivos do daemon.
+ */
+final class AnagramDaemon {
+
+    private static final String OK = "OK";
+    private static final String ERRO = "ERRO ";
+
+    private AnagramDaemon() {
+        // Classe utilitária: construtor privado para evitar instanciação
+    }
+
+    /**
+     * Escuta no socket até o processo ser encerrado. Um arquivo de socket antigo é substituído
+     * e o arquivo é removido ao sair.
+     *
+     * @param socket  caminho do socket Unix
+     * @param threads conexões atendidas em paralelo
+     */
+    static void servir(Path socket, int threads) throws IOException {
+        try (ServerSocketChannel servidor = abrir(socket)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> apagar(socket)));
+            servir(servidor, threads);
+        } finally {
+            apagar(socket);
+        }
+    }
+
+    /**
+     * Cria o socket já pronto para aceitar conexões, substituindo um arquivo de socket antigo.
+     * Quando este método retorna, clientes já podem se conectar.
+     */
+    static ServerSocketChannel abrir(Path socket) throws IOException {
+        Files.deleteIfExists(socket);
+        ServerSocketChannel servidor = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            servidor.bind(UnixDomainSocketAddress.of(socket));
+        } catch (IOException e) {
+            servidor.close();
+            throw e;
+        }
+        return servidor;
+    }
+
+    /** Atende conexões do socket aberto até ele ser fechado. */
+    static void servir(ServerSocketChannel servidor, int threads) throws IOException {
+        ExecutorService atendentes = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "anagramas-daemon");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            while (true) {
+                SocketChannel conexao = servidor.accept();
+                atendentes.execute(() -> atender(conexao));
+            }
+        } catch (ClosedChannelException e) {
+            // socket fechado por outra thread: fim normal do serviço
+        } finally {
+            atendentes.shutdownNow();
+        }
+    }
+
+    private static void atender(SocketChannel conexao) {
+        try (conexao;
+             BufferedReader pedido = new BufferedReader(new InputStreamReader(Channels.newInputStream(conexao), StandardCharsets.UTF_8));
+             Writer resposta = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(conexao), StandardCharsets.UTF_8))) {
+            Iterator<String> anagramas;
+            try {
+                App.Opcoes opcoes = App.Opcoes.ler(lerArgumentos(pedido));
+                if (opcoes.saida != null || opcoes.checkpoint != null || opcoes.retomar
+                        || opcoes.daemon != null || opcoes.cliente != null || opcoes.lote != null
+                        || opcoes.formato != App.Formato.TEXTO || opcoes.decodificar != null || opcoes.paralelo) {
+                    throw new IllegalArgumentException("O daemon aceita apenas a entrada e --shard.");
+                }
+                if (opcoes.entrada == null) {
+                    throw new IllegalArgumentException("Entrada nula não é permitida.");
+                }
+                anagramas = App.iterador(opcoes, opcoes.entrada);
+            } catch (IllegalArgumentException e) {
+                resposta.write(ERRO + e.getMessage().replace('\n', ' ') + "\n");
+                return;
+            }
+            resposta.write(OK + "\n");
+            while (anagramas.hasNext()) {
+                resposta.write(anagramas.next());
+                resposta.write('\n');
+            }
+        } catch (IOException e) {
+            // cliente desconectou no meio da resposta: nada a fazer além de liberar a conexão
+        }
+    }
+
+    private static String[] lerArgumentos(BufferedReader pedido) throws IOException {
+        List<String> args = new ArrayList<>();
+        String linha;
+        while ((linha = pedido.readLine()) != null && !linha.isEmpty()) {
+            args.add(linha);
+        }
+        return args.toArray(new String[0]);
+    }
+
+    /**
+     * Envia os argumentos ao daemon e copia os anagramas recebidos para {@code saida}.
+     *
+     * @throws IllegalArgumentException com a mensagem do daemon, se ele recusar o pedido
+     */
+    static void consultar(Path socket, List<String> args, Writer saida) throws IOException {
+        try (SocketChannel conexao = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            Writer pedido = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(conexao), StandardCharsets.UTF_8));
+            for (String arg : args) {
+                pedido.write(arg.replace('\n', ' '));
+                pedido.write('\n');
+            }
+            pedido.write('\n');
+            pedido.flush();
+
+            BufferedReader resposta = new BufferedReader(new InputStreamReader(Channels.newInputStream(conexao), StandardCharsets.UTF_8));
+            String status = resposta.readLine();
+            if (status == null) {
+                throw new IOException("O daemon encerrou a conexão sem responder.");
+            }
+            if (status.startsWith(ERRO)) {
+                throw new IllegalArgumentException(status.substring(ERRO.length()));
+            }
+            String linha;
+            while ((linha = resposta.readLine()) != null) {
+                saida.write(linha);
+                saida.write(System.lineSeparator());
+            }
+            saida.flush();
+        }
+    }
+
+    private static void apagar(Path socket) {
+        try {
+            Files.deleteIfExists(socket);
+        } catch (IOException e) {
+            // melhor esforço ao encerrar
+        }
+    }
+}
@@ -1,16 +1,17 @@
 package com.vaiquevai.anagramas;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 
 
 /**
  * Utilitário para gerar anagramas (permutações) de letras distintas.
  * Assume que a entrada contém apenas letras e sem repetições.
- * Resultados retornados em ordem lexicográfica.
+ * Resultados retornados em ordem lexicográfica (por code point: letras fora do BMP
+ * são tratadas como uma única letra, nunca separadas em metades de par substituto).
  */
 
 public final class AnagramGenerator {
@@ -21,68 +22,309 @@ public final class AnagramGenerator {
 
     /**
      * Gera todos os anagramas da entrada.
-     * Estratégia: ordena os caracteres e usa backtracking,
-     * marcando posições já utilizadas até completar cada permutação.
+     * Estratégia: ordena as letras (code points); até {@link PermutationTemplates#MAXIMO_LETRAS} letras
+     * traduz o modelo de permutações já calculado para esse tamanho (compartilhado entre entradas),
+     * e acima disso usa backtracking sobre os índices, marcando posições já utilizadas até completar cada permutação.
      *
      * @param entrada letras distintas, ex.: "abc"
      * @return lista com todas as permutações em ordem lexicográfica
      * @throws IllegalArgumentException se a entrada for nula, vazia, contiver não-letras ou repetição
      */
     public static List<String> gerarAnagramas(String entrada) {
-        validarEntrada(entrada);
+        Alphabet alfabeto = Alphabet.of(entrada);
+        if (PermutationTemplates.suporta(alfabeto.tamanho())) {
+            return PermutationTemplates.montarTodos(alfabeto);
+        }
+
+        List<String> resultado = new ArrayList<>();
+        boolean[] usados = new boolean[alfabeto.tamanho()];
+        int[] atual = new int[alfabeto.tamanho()];
+        char[] buffer = new char[alfabeto.comprimentoEmChars()];
+
+        backtrack(alfabeto, usados, atual, 0, buffer, resultado);
+        return resultado;
+    }
+
+    /**
+     * Gera os anagramas após canonicalizar a entrada no modo informado.
+     * Com {@link LetterFolding#SEM_ACENTOS}, por exemplo, "Ábc" e "abc" produzem a mesma lista;
+     * a mesma forma canônica pode ser obtida com {@link LetterFolding#aplicar(String)}
+     * para usar com as demais estratégias.
+     *
+     * @param entrada letras distintas após a canonicalização
+     * @param modo    canonicalização aplicada antes da validação
+     * @return lista com todas as permutações da forma canônica, em ordem lexicográfica
+     * @throws IllegalArgumentException se a entrada canonicalizada for inválida (ex.: "Aa" em {@link LetterFolding#MINUSCULAS})
+     */
+    public static List<String> gerarAnagramas(String entrada, LetterFolding modo) {
+        Objects.requireNonNull(modo, "modo");
+        return gerarAnagramas(modo.aplicar(entrada));
+    }
+
+    /**
+     * Visão imutável e de acesso aleatório dos anagramas, na mesma ordem de {@link #gerarAnagramas(String)},
+     * com cada elemento calculado a partir do índice quando pedido. Ocupa O(n) memória.
+     *
+     * @param entrada letras distintas (até 12, pois 12! é o maior tamanho de {@code List})
+     * @return lista virtual com n! elementos
+     * @throws IllegalArgumentException se a entrada for inválida ou longa demais
+     */
+    public static List<String> visaoAnagramas(String entrada) {
+        return visaoAnagramas(entrada, 0);
+    }
+
+    /**
+     * Como {@link #visaoAnagramas(String)}, com cache dos elementos devolvidos recentemente.
+     *
+     * @param entrada      letras distintas (até 12)
+     * @param tamanhoCache quantidade aproximada de elementos em cache (0 desliga)
+     * @return lista virtual com n! elementos
+     * @throws IllegalArgumentException se a entrada for inválida ou longa demais
+     */
+    public static List<String> visaoAnagramas(String entrada, int tamanhoCache) {
+        return new AnagramListView(Alphabet.of(entrada), tamanhoCache);
+    }
+
+    /**
+     * Gera os anagramas respeitando prazo, quantidade máxima de resultados,
+     * token de cancelamento e {@code Thread.interrupt()}.
+     * Em vez de lançar exceção ao atingir um limite, devolve o que já foi produzido
+     * marcado como truncado, para que o chamador degrade de forma controlada.
+     *
+     * @param entrada letras distintas, ex.: "abc"
+     * @param limites limites da geração
+     * @return resultado (possivelmente parcial) com o motivo da parada
+     * @throws IllegalArgumentException se a entrada for inválida
+     */
+    public static GenerationResult gerarAnagramas(String entrada, GenerationLimits limites) {
+        return gerarAnagramas(entrada, AnagramConstraints.nenhuma(), limites);
+    }
+
+    /**
+     * Gera apenas os anagramas que satisfazem as restrições, verificadas durante a busca:
+     * um ramo é abandonado assim que a letra posicionada viola uma regra.
+     *
+     * @param entrada    letras distintas, ex.: "abc"
+     * @param restricoes letras permitidas por posição, prefixo/sufixo e adjacências proibidas
+     * @return lista com as permutações aceitas, em ordem lexicográfica
+     * @throws IllegalArgumentException se a entrada for inválida
+     */
+    public static List<String> gerarAnagramas(String entrada, AnagramConstraints restricoes) {
+        return gerarAnagramas(entrada, restricoes, GenerationLimits.semLimites()).anagramas();
+    }
+
+    /**
+     * Combina restrições e limites em uma única busca.
+     *
+     * @param entrada    letras distintas, ex.: "abc"
+     * @param restricoes restrições verificadas a cada profundidade
+     * @param limites    prazo, máximo de resultados e cancelamento
+     * @return resultado (possivelmente parcial) com o motivo da parada
+     * @throws IllegalArgumentException se a entrada for inválida
+     */
+    public static GenerationResult gerarAnagramas(String entrada, AnagramConstraints restricoes, GenerationLimits limites) {
+        Objects.requireNonNull(restricoes, "restricoes");
+        Objects.requireNonNull(limites, "limites");
+        Alphabet alfabeto = Alphabet.of(entrada);
+        return new AnagramSearch(alfabeto, compilar(restricoes, alfabeto), limites).executar();
+    }
+
+    /**
+     * Iterador preguiçoso sobre os anagramas da entrada, na mesma ordem de {@link #gerarAnagramas(String)}.
+     * Cada permutação é calculada apenas quando pedida, com memória O(n).
+     *
+     * @param entrada letras distintas, ex.: "abc"
+     * @return iterador em ordem lexicográfica
+     * @throws IllegalArgumentException se a entrada for inválida (mesmas regras de {@link #gerarAnagramas(String)})
+     */
+    public static AnagramIterator iterarAnagramas(String entrada) {
+        return new AnagramIterator(Alphabet.of(entrada));
+    }
+
+    /**
+     * Quantidade de anagramas da entrada (n!), sem gerá-los.
+     *
+     * @param entrada letras distintas, ex.: "abc"
+     * @return n!
+     * @throws IllegalArgumentException se a entrada for inválida ou tiver mais de 20 letras (n! não cabe em {@code long})
+     */
+    public static long contarAnagramas(String entrada) {
+        return PermutationRank.fatorial(Alphabet.of(entrada).tamanho());
+    }
 
-        char[] letras = entrada.toCharArray();
-        Arrays.sort(letras); // ordena para produzir resultado determinístico
+    /**
+     * Busca os anagramas que casam com um padrão de palavras cruzadas, ex.: {@code "?a[eiou]?e"}.
+     * As posições fixas e as classes do padrão podam a busca enquanto as letras são colocadas.
+     *
+     * @param entrada letras distintas, ex.: "abcde"
+     * @param padrao  padrão no formato de {@link AnagramPattern}
+     * @return anagramas compatíveis em ordem lexicográfica; vazia se o padrão tiver outro tamanho
+     * @throws IllegalArgumentException se a entrada ou o padrão forem inválidos
+     */
+    public static List<String> buscarPadrao(String entrada, String padrao) {
+        return buscarPadrao(entrada, AnagramPattern.compilar(padrao));
+    }
 
+    /**
+     * Variante de {@link #buscarPadrao(String, String)} para um padrão já compilado e reutilizado.
+     */
+    public static List<String> buscarPadrao(String entrada, AnagramPattern padrao) {
+        Objects.requireNonNull(padrao, "padrao");
+        Alphabet alfabeto = Alphabet.of(entrada);
+        if (alfabeto.tamanho() != padrao.tamanho()) {
+            return new ArrayList<>();
+        }
+        CompiledConstraints restricoes = compilar(padrao.comoRestricoes(), alfabeto);
+        return new AnagramSearch(alfabeto, restricoes, GenerationLimits.semLimites()).executar().anagramas();
+    }
+
+    /**
+     * Quantidade de anagramas que satisfazem as restrições, sem montá-los
+     * (programação dinâmica sobre os subconjuntos de letras já usadas).
+     *
+     * @param entrada    letras distintas, ex.: "abc"
+     * @param restricoes restrições a respeitar
+     * @return quantidade de anagramas aceitos
+     * @throws IllegalArgumentException se a entrada for inválida ou tiver mais de 20 letras
+     */
+    public static long contarAnagramas(String entrada, AnagramConstraints restricoes) {
+        Objects.requireNonNull(restricoes, "restricoes");
+        Alphabet alfabeto = Alphabet.of(entrada);
+        CompiledConstraints compiladas = compilar(restricoes, alfabeto);
+        return compiladas == null ? PermutationRank.fatorial(alfabeto.tamanho()) : compiladas.contar();
+    }
+
+    /**
+     * Gera apenas o fragmento {@code indice} de {@code totalFragmentos} da enumeração lexicográfica.
+     * O espaço de ranks [0, n!) é dividido em intervalos contíguos de tamanhos quase iguais;
+     * a concatenação dos fragmentos 0, 1, ..., N-1 é exatamente {@link #gerarAnagramas(String)}.
+     * Cada fragmento salta direto para o seu primeiro rank, sem coordenação entre processos.
+     *
+     * @param entrada         letras distintas, ex.: "abc"
+     * @param indice          fragmento desejado, de 0 a {@code totalFragmentos - 1}
+     * @param totalFragmentos quantidade de fragmentos (positiva)
+     * @return lista com as permutações do fragmento, em ordem lexicográfica
+     * @throws IllegalArgumentException se a entrada ou os índices forem inválidos
+     */
+    public static List<String> gerarFragmento(String entrada, int indice, int totalFragmentos) {
         List<String> resultado = new ArrayList<>();
-        boolean[] usados = new boolean[letras.length];
-        StringBuilder atual = new StringBuilder(letras.length);
+        iterarFragmento(entrada, indice, totalFragmentos).forEachRemaining(resultado::add);
+        return resultado;
+    }
+
+    /**
+     * Versão preguiçosa de {@link #gerarFragmento(String, int, int)}.
+     *
+     * @param entrada         letras distintas, ex.: "abc"
+     * @param indice          fragmento desejado, de 0 a {@code totalFragmentos - 1}
+     * @param totalFragmentos quantidade de fragmentos (positiva)
+     * @return iterador sobre as permutações do fragmento
+     * @throws IllegalArgumentException se a entrada ou os índices forem inválidos
+     */
+    public static AnagramIterator iterarFragmento(String entrada, int indice, int totalFragmentos) {
+        if (totalFragmentos <= 0) {
+            throw new IllegalArgumentException("A quantidade de fragmentos deve ser positiva: " + totalFragmentos);
+        }
+        if (indice < 0 || indice >= totalFragmentos) {
+            throw new IllegalArgumentException("Fragmento fora do intervalo [0, " + totalFragmentos + "): " + indice);
+        }
+        Alphabet alfabeto = Alphabet.of(entrada);
+        long total = PermutationRank.fatorial(alfabeto.tamanho());
+        long inicio = PermutationRank.inicioFragmento(total, indice, totalFragmentos);
+        long fim = PermutationRank.inicioFragmento(total, indice + 1, totalFragmentos);
+        return new AnagramIterator(alfabeto, inicio, fim - inicio);
+    }
+
+    /**
+     * Retoma uma enumeração a partir de um {@link Checkpoint}: continua exatamente no rank salvo
+     * e termina no mesmo ponto em que a enumeração original terminaria.
+     *
+     * @param checkpoint posição salva com {@link Checkpoint#de(String, AnagramIterator, long)}
+     * @return iterador sobre os anagramas que ainda faltavam
+     * @throws IllegalArgumentException se a entrada do checkpoint for inválida ou os ranks não couberem nela
+     */
+    public static AnagramIterator retomarAnagramas(Checkpoint checkpoint) {
+        Alphabet alfabeto = Alphabet.of(checkpoint.entrada());
+        long total = PermutationRank.fatorial(alfabeto.tamanho());
+        if (checkpoint.fimRank() > total) {
+            throw new IllegalArgumentException("Checkpoint não corresponde à entrada: fim " + checkpoint.fimRank()
+                    + " além de " + total + " anagramas.");
+        }
+        return new AnagramIterator(alfabeto, checkpoint.proximoRank(), checkpoint.fimRank() - checkpoint.proximoRank());
+    }
 
-        backtrack(letras, usados, atual, resultado);
+    /**
+     * Gera todos os anagramas na ordem de troca mínima: cada resultado difere do
+     * anterior por uma única troca de letras vizinhas, informada em
+     * {@link AdjacentSwapPermutation#esquerda()}. O primeiro resultado é a entrada ordenada.
+     *
+     * @param entrada letras distintas, ex.: "abc"
+     * @return lista com as n! permutações em ordem de Steinhaus–Johnson–Trotter
+     * @throws IllegalArgumentException se a entrada for inválida
+     */
+    public static List<AdjacentSwapPermutation> gerarAnagramasTrocaMinima(String entrada) {
+        List<AdjacentSwapPermutation> resultado = new ArrayList<>();
+        iterarAnagramasTrocaMinima(entrada).forEachRemaining(resultado::add);
         return resultado;
     }
 
+    /**
+     * Versão preguiçosa de {@link #gerarAnagramasTrocaMinima(String)}, com memória O(n).
+     *
+     * @param entrada letras distintas, ex.: "abc"
+     * @return iterador na ordem de troca mínima
+     * @throws IllegalArgumentException se a entrada for inválida
+     */
+    public static MinimalChangeIterator iterarAnagramasTrocaMinima(String entrada) {
+        return new MinimalChangeIterator(Alphabet.of(entrada));
+    }
+
+    /**
+     * Publica os anagramas como {@link Flow.Publisher} com contrapressão.
+     * As permutações são geradas sob demanda na thread que chama {@code request}.
+     *
+     * @param entrada letras distintas, ex.: "abc"
+     * @return publisher frio: cada assinante recebe a enumeração completa desde o início
+     * @throws IllegalArgumentException se a entrada for inválida
+     */
+    public static Flow.Publisher<String> publicarAnagramas(String entrada) {
+        return publicarAnagramas(entrada, Runnable::run);
+    }
+
+    /**
+     * Publica os anagramas como {@link Flow.Publisher}, emitindo no executor informado.
+     *
+     * @param entrada  letras distintas, ex.: "abc"
+     * @param executor executor usado para produzir e entregar os resultados
+     * @return publisher frio: cada assinante recebe a enumeração completa desde o início
+     * @throws IllegalArgumentException se a entrada for inválida
+     */
+    public static Flow.Publisher<String> publicarAnagramas(String entrada, Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        return new AnagramPublisher(Alphabet.of(entrada), executor);
+    }
+
+    private static CompiledConstraints compilar(AnagramConstraints restricoes, Alphabet alfabeto) {
+        return restricoes.isVazia() ? null : restricoes.compilar(alfabeto);
+    }
 
     /**
      * Backtracking: adiciona uma letra não usada ao prefixo, explora,
      * e desfaz a escolha ao retornar (fazer → explorar → desfazer).
      */
-    private static void backtrack(char[] letras, boolean[] usados, StringBuilder atual, List<String> resultado) {
-        if (atual.length() == letras.length) {
-            resultado.add(atual.toString());
+    private static void backtrack(Alphabet alfabeto, boolean[] usados, int[] atual, int profundidade,
+                                  char[] buffer, List<String> resultado) {
+        if (profundidade == atual.length) {
+            resultado.add(alfabeto.montar(atual, profundidade, buffer));
             return;
         }
-        for (int i = 0; i < letras.length; i++) {
+        for (int i = 0; i < usados.length; i++) {
             if (!usados[i]) {
                 usados[i] = true;
-                atual.append(letras[i]);
-                backtrack(letras, usados, atual, resultado);
-                atual.deleteCharAt(atual.length() - 1);
+                atual[profundidade] = i;
+                backtrack(alfabeto, usados, atual, profundidade + 1, buffer, resultado);
                 usados[i] = false;
             }
         }
     }
-
-    private static void validarEntrada(String entrada) {
-        if (entrada == null) {
-            throw new IllegalArgumentException("Entrada nula não é permitida.");
-        }
-        entrada = entrada.trim();
-        if (entrada.isEmpty()) {
-            throw new IllegalArgumentException("Entrada vazia não é permitida.");
-        }
-        // Apenas letras (aceita Unicode, ex.: acentuação), ajuste se quiser restringir a A-Z/a-z.
-        for (char c : entrada.toCharArray()) {
-            if (!Character.isLetter(c)) {
-                throw new IllegalArgumentException("A entrada deve conter apenas letras. Caractere inválido: '" + c + "'");
-            }
-        }
-        // Verifica repetição (case-sensitive)
-        Set<Character> vistos = new HashSet<>();
-        for (char c : entrada.toCharArray()) {
-            if (!vistos.add(c)) {
-                throw new IllegalArgumentException("A entrada deve conter letras distintas (sem repetição). Letra repetida: '" + c + "'");
-            }
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package com.vaiquevai.anagramas;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterador preguiçoso sobre os anagramas de um conjunto de letras distintas.
+ * Produz as permutações em ordem lexicográfica, uma por chamada a {@link #next()},
+ * usando o algoritmo de "próxima permutação" sobre os índices das letras ordenadas.
+ * O estado ocupa O(n), então a enumeração pode ser pausada e retomada
+ * exatamente de onde parou, sem guardar os resultados anteriores.
+ * <p>
+ * Também pode começar em qualquer posição (rank) e parar após uma quantidade
+ * fixa de resultados, o que permite dividir a enumeração em fragmentos independentes.
+ */
+public final class AnagramIterator implements Iterator<String> {
+
+    private final Alphabet alfabeto;
+    private final int[] indices;
+    private final char[] buffer;
+    private boolean temProximo;
+    /** Resultados que ainda podem ser emitidos; {@code Long.MAX_VALUE} quando não há limite. */
+    private long restantes;
+    private long proximoRank;
+
+    AnagramIterator(Alphabet alfabeto) {
+        this.alfabeto = alfabeto;
+        this.indices = new int[alfabeto.tamanho()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        this.buffer = new char[alfabeto.comprimentoEmChars()];
+        this.temProximo = true;
+        this.restantes = Long.MAX_VALUE;
+    }
+
+    /**
+     * Começa na permutação de posição {@code rankInicial} e emite no máximo {@code quantidade} resultados.
+     */
+    AnagramIterator(Alphabet alfabeto, long rankInicial, long quantidade) {
+        this.alfabeto = alfabeto;
+        this.indices = new int[alfabeto.tamanho()];
+        this.buffer = new char[alfabeto.comprimentoEmChars()];
+        this.restantes = quantidade;
+        this.proximoRank = rankInicial;
+        this.temProximo = quantidade > 0;
+        if (temProximo) {
+            PermutationRank.desranquear(rankInicial, indices.length, indices);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return temProximo;
+    }
+
+    /**
+     * Posição lexicográfica (rank) do próximo resultado.
+     * Só é significativa para até {@link PermutationRank#MAXIMO_LETRAS} letras.
+     */
+    public long proximoRank() {
+        return proximoRank;
+    }
+
+    /**
+     * Rank (exclusivo) em que a enumeração termina: fim do fragmento ou n!.
+     * Junto com {@link #proximoRank()} é o que um {@link Checkpoint} precisa para retomar.
+     *
+     * @throws IllegalArgumentException se a entrada tiver mais de {@link PermutationRank#MAXIMO_LETRAS} letras
+     */
+    public long fimRank() {
+        if (restantes == Long.MAX_VALUE) {
+            return PermutationRank.fatorial(indices.length);
+        }
+        return proximoRank + (temProximo ? restantes : 0);
+    }
+
+    @Override
+    public String next() {
+        if (!temProximo) {
+            throw new NoSuchElementException("Não há mais anagramas.");
+        }
+        String anagrama = alfabeto.montar(indices, indices.length, buffer);
+        proximoRank++;
+        if (restantes != Long.MAX_VALUE) {
+            restantes--;
+        }
+        temProximo = restantes > 0 && proximaPermutacao(indices);
+        return anagrama;
+    }
+
+    /**
+     * Próxima permutação lexicográfica dos índices:
+     * acha o maior i com indices[i] < indices[i + 1], troca com o menor sucessor
+     * à direita e inverte o sufixo. Retorna false quando já estava na última.
+     */
+    static boolean proximaPermutacao(int[] indices) {
+        int i = indices.length - 2;
+        while (i >= 0 && indices[i] > indices[i + 1]) {
+            i--;
+        }
+        if (i < 0) {
+            return false;
+        }
+        int j = indices.length - 1;
+        while (indices[j] < indices[i]) {
+            j--;
+        }
+        trocar(indices, i, j);
+        for (int a = i + 1, b = indices.length - 1; a < b; a++, b--) {
+            trocar(indices, a, b);
+        }
+        return true;
+    }
+
+    private static void trocar(int[] indices, int a, int b) {
+        int t = indices[a];
+        indices[a] = indices[b];
+        indices[b] = t;
+    }
+}
@@ -0,0 +1,125 @@
+package com.vaiquevai.anagramas;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * {@code List<String>} imutável com os anagramas em ordem lexicográfica, calculados sob demanda:
+ * {@link #get(int)} converte o índice na permutação correspondente (desranqueamento) em O(n²),
+ * sem materializar as n! strings. A lista inteira ocupa O(n) memória e pode substituir
+ * o {@code ArrayList} de {@link AnagramGenerator#gerarAnagramas(String)} para quem só precisa de
+ * {@code size()}, {@code get(i)} e sublistas curtas.
+ * <p>
+ * Opcionalmente mantém um cache pequeno, de mapeamento direto, dos últimos elementos devolvidos.
+ * A instância é segura para uso concorrente: as entradas do cache são imutáveis e uma corrida
+ * apenas faz um elemento ser recalculado.
+ */
+public final class AnagramListView extends AbstractList<String> implements RandomAccess {
+
+    /** 12! é o maior fatorial que cabe em um {@code int} (tamanho máximo de uma {@code List}). */
+    public static final int MAXIMO_LETRAS = 12;
+
+    /** O cache é para "recentes", não uma segunda cópia da lista. */
+    static final int MAXIMO_CACHE = 1 << 16;
+
+    private record Entrada(int indice, String valor) {
+    }
+
+    private final Alphabet alfabeto;
+    private final int tamanho;
+    /** {@code null} quando o cache está desligado; comprimento potência de dois. */
+    private final Entrada[] cache;
+
+    AnagramListView(Alphabet alfabeto, int tamanhoCache) {
+        if (alfabeto.tamanho() > MAXIMO_LETRAS) {
+            throw new IllegalArgumentException("A visão em lista suporta até " + MAXIMO_LETRAS
+                    + " letras (12! é o maior tamanho de List): " + alfabeto.tamanho());
+        }
+        if (tamanhoCache < 0) {
+            throw new IllegalArgumentException("O tamanho do cache não pode ser negativo: " + tamanhoCache);
+        }
+        this.alfabeto = alfabeto;
+        this.tamanho = (int) PermutationRank.fatorial(alfabeto.tamanho());
+        this.cache = tamanhoCache == 0 ? null : new Entrada[potenciaDeDois(tamanhoCache)];
+    }
+
+    private static int potenciaDeDois(int minimo) {
+        int capacidade = 1;
+        while (capacidade < minimo && capacidade < MAXIMO_CACHE) {
+            capacidade <<= 1;
+        }
+        return capacidade;
+    }
+
+    @Override
+    public int size() {
+        return tamanho;
+    }
+
+    @Override
+    public String get(int indice) {
+        Objects.checkIndex(indice, tamanho);
+        if (cache == null) {
+            return calcular(indice);
+        }
+        int posicao = indice & (cache.length - 1);
+        Entrada entrada = cache[posicao];
+        if (entrada != null && entrada.indice() == indice) {
+            return entrada.valor();
+        }
+        String valor = calcular(indice);
+        cache[posicao] = new Entrada(indice, valor);
+        return valor;
+    }
+
+    private String calcular(int indice) {
+        int[] perm = new int[alfabeto.tamanho()];
+        PermutationRank.desranquear(indice, perm.length, perm);
+        return alfabeto.montar(perm, perm.length, new char[alfabeto.comprimentoEmChars()]);
+    }
+
+    /** Percurso sequencial pela próxima permutação (O(n) por elemento), sem desranquear cada índice. */
+    @Override
+    public Iterator<String> iterator() {
+        return new AnagramIterator(alfabeto);
+    }
+
+    /** Calcula o rank da string em vez de percorrer a lista: O(n). */
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof String s)) {
+            return -1;
+        }
+        int n = alfabeto.tamanho();
+        if (s.codePointCount(0, s.length()) != n) {
+            return -1;
+        }
+        int[] perm = new int[n];
+        int usados = 0;
+        int k = 0;
+        for (int i = 0; i < s.length(); ) {
+            int cp = s.codePointAt(i);
+            i += Character.charCount(cp);
+            int indice = alfabeto.indice(cp);
+            if (indice < 0 || (usados & (1 << indice)) != 0) {
+                return -1;
+            }
+            usados |= 1 << indice;
+            perm[k++] = indice;
+        }
+        return (int) PermutationRank.ranquear(perm, n);
+    }
+
+    /** Os elementos são distintos: a última ocorrência é a única. */
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+}
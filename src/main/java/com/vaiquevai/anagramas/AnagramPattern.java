@@ -0,0 +1,92 @@
+package com.vaiquevai.anagramas;
+
+import java.util.Objects;
+
+/**
+ * Padrão no estilo de palavras cruzadas, casado contra os anagramas durante a geração.
+ * Cada elemento do padrão corresponde a uma letra:
+ * <ul>
+ *   <li>{@code ?} — qualquer letra;</li>
+ *   <li>uma letra — exatamente aquela letra;</li>
+ *   <li>{@code [aei]} — uma das letras da classe;</li>
+ *   <li>{@code [^xy]} — qualquer letra fora da classe.</li>
+ * </ul>
+ * Exemplo: {@code "?a[eiou]?e"}. O padrão é convertido em {@link AnagramConstraints} posicionais,
+ * então posições fixas e classes podam os ramos no momento em que a letra é colocada
+ * e só anagramas compatíveis chegam a ser montados.
+ */
+public final class AnagramPattern {
+
+    private final String padrao;
+    private final int tamanho;
+    private final AnagramConstraints restricoes;
+
+    private AnagramPattern(String padrao, int tamanho, AnagramConstraints restricoes) {
+        this.padrao = padrao;
+        this.tamanho = tamanho;
+        this.restricoes = restricoes;
+    }
+
+    /**
+     * @param padrao padrão como {@code "?a??e"}
+     * @throws IllegalArgumentException se o padrão for vazio, tiver classe vazia/não fechada ou caracteres que não sejam letras
+     */
+    public static AnagramPattern compilar(String padrao) {
+        Objects.requireNonNull(padrao, "padrao");
+        AnagramConstraints restricoes = AnagramConstraints.nenhuma();
+        int posicao = 0;
+        int i = 0;
+        while (i < padrao.length()) {
+            int cp = padrao.codePointAt(i);
+            if (cp == '?') {
+                i++;
+            } else if (cp == '[') {
+                int fim = padrao.indexOf(']', i + 1);
+                if (fim < 0) {
+                    throw new IllegalArgumentException("Classe não fechada no padrão '" + padrao + "' (posição " + i + ").");
+                }
+                boolean negada = fim > i + 1 && padrao.charAt(i + 1) == '^';
+                String letras = padrao.substring(negada ? i + 2 : i + 1, fim);
+                if (letras.isEmpty()) {
+                    throw new IllegalArgumentException("Classe vazia no padrão '" + padrao + "' (posição " + i + ").");
+                }
+                exigirLetras(letras, padrao);
+                restricoes = negada
+                        ? restricoes.comLetrasProibidas(posicao, letras)
+                        : restricoes.comLetrasPermitidas(posicao, letras);
+                i = fim + 1;
+            } else {
+                String letra = Character.toString(cp);
+                exigirLetras(letra, padrao);
+                restricoes = restricoes.comLetrasPermitidas(posicao, letra);
+                i += Character.charCount(cp);
+            }
+            posicao++;
+        }
+        if (posicao == 0) {
+            throw new IllegalArgumentException("Padrão vazio não é permitido.");
+        }
+        return new AnagramPattern(padrao, posicao, restricoes);
+    }
+
+    private static void exigirLetras(String letras, String padrao) {
+        letras.codePoints().filter(c -> !Character.isLetter(c)).findFirst().ifPresent(c -> {
+            throw new IllegalArgumentException("Caractere inválido '" + Character.toString(c) + "' no padrão '" + padrao + "'.");
+        });
+    }
+
+    /** Quantidade de letras que o padrão descreve. */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /** Restrições posicionais equivalentes, combináveis com outras regras. */
+    public AnagramConstraints comoRestricoes() {
+        return restricoes;
+    }
+
+    @Override
+    public String toString() {
+        return padrao;
+    }
+}
@@ -0,0 +1,123 @@
+package com.vaiquevai.anagramas;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Flow.Publisher} de anagramas com contrapressão (backpressure).
+ * Cada assinante recebe a sua própria enumeração, gerada sob demanda:
+ * só são produzidas tantas permutações quanto o assinante pediu via
+ * {@link Flow.Subscription#request(long)}, e a busca retoma de onde parou no pedido seguinte.
+ * Nada é acumulado em memória além do estado O(n) do {@link AnagramIterator}.
+ */
+final class AnagramPublisher implements Flow.Publisher<String> {
+
+    private final Alphabet alfabeto;
+    private final Executor executor;
+
+    /**
+     * @param alfabeto letras distintas já validadas
+     * @param executor onde as emissões são feitas; {@code Runnable::run} emite na thread que chamou {@code request}
+     */
+    AnagramPublisher(Alphabet alfabeto, Executor executor) {
+        this.alfabeto = alfabeto;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super String> assinante) {
+        Objects.requireNonNull(assinante, "assinante");
+        Assinatura assinatura = new Assinatura(assinante, new AnagramIterator(alfabeto));
+        assinante.onSubscribe(assinatura);
+    }
+
+    /**
+     * Assinatura individual. A emissão é serializada pelo contador {@code trabalho}:
+     * quem o leva de 0 para 1 drena a demanda; chamadas concorrentes (ou reentrantes,
+     * vindas de {@code onNext}) apenas registram que há trabalho pendente.
+     */
+    private final class Assinatura implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super String> assinante;
+        private final AnagramIterator iterador;
+        private final AtomicLong demanda = new AtomicLong();
+        private final AtomicInteger trabalho = new AtomicInteger();
+        private volatile boolean cancelada;
+        private boolean pedidoInvalido;
+        private long quantidadeInvalida;
+
+        Assinatura(Flow.Subscriber<? super String> assinante, AnagramIterator iterador) {
+            this.assinante = assinante;
+            this.iterador = iterador;
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelada) {
+                return;
+            }
+            if (n <= 0) {
+                quantidadeInvalida = n;
+                pedidoInvalido = true;
+            } else {
+                demanda.getAndAccumulate(n, (atual, pedido) -> {
+                    long soma = atual + pedido;
+                    return soma < 0 ? Long.MAX_VALUE : soma; // satura em Long.MAX_VALUE (demanda ilimitada)
+                });
+            }
+            agendar();
+        }
+
+        @Override
+        public void cancel() {
+            cancelada = true;
+        }
+
+        private void agendar() {
+            if (trabalho.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int pendente = 1;
+            do {
+                drenar();
+                pendente = trabalho.addAndGet(-pendente);
+            } while (pendente != 0);
+        }
+
+        private void drenar() {
+            if (cancelada) {
+                return;
+            }
+            if (pedidoInvalido) {
+                cancelada = true;
+                assinante.onError(new IllegalArgumentException(
+                        "A quantidade pedida deve ser positiva (regra 3.9 do Reactive Streams): " + quantidadeInvalida));
+                return;
+            }
+            long pedidos = demanda.get();
+            long emitidos = 0;
+            while (emitidos != pedidos && !cancelada && iterador.hasNext()) {
+                assinante.onNext(iterador.next());
+                emitidos++;
+            }
+            if (cancelada) {
+                return;
+            }
+            if (!iterador.hasNext()) {
+                cancelada = true;
+                assinante.onComplete();
+                return;
+            }
+            if (pedidos != Long.MAX_VALUE) {
+                demanda.addAndGet(-emitidos);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.vaiquevai.anagramas;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Amostragem uniforme de anagramas sem enumerar as n! permutações.
+ * Cada amostra é um embaralhamento de Fisher–Yates dos índices do alfabeto (O(n)),
+ * então k amostras custam O(k·n) independentemente do tamanho do espaço.
+ * <p>
+ * Os resultados são reprodutíveis a partir da semente. O gerador é um {@link SplittableRandom}
+ * dividido em um fluxo independente por bloco de {@link #TAMANHO_BLOCO} amostras, de modo que a
+ * versão paralela produz exatamente a mesma lista que a sequencial, com qualquer número de threads.
+ */
+public final class AnagramSampler {
+
+    /** Amostras por fluxo aleatório; também é a unidade de trabalho da versão paralela. */
+    static final int TAMANHO_BLOCO = 1024;
+
+    private AnagramSampler() {
+        // Classe utilitária: construtor privado para evitar instanciação
+    }
+
+    /**
+     * Sorteia {@code k} anagramas uniformemente.
+     *
+     * @param entrada      letras distintas, ex.: "abc"
+     * @param k            quantidade de amostras (não negativa)
+     * @param comReposicao se {@code true}, o mesmo anagrama pode aparecer mais de uma vez;
+     *                     se {@code false}, os k resultados são distintos (exige k ≤ n!)
+     * @param semente      semente do gerador; a mesma semente produz a mesma lista
+     * @return lista com k anagramas em ordem aleatória
+     * @throws IllegalArgumentException se a entrada for inválida ou k for negativo ou maior que n! sem reposição
+     */
+    public static List<String> amostrar(String entrada, int k, boolean comReposicao, long semente) {
+        Alphabet alfabeto = Alphabet.of(entrada);
+        exigirNaoNegativo(k);
+        return comReposicao
+                ? Arrays.asList(comReposicao(alfabeto, k, semente, false))
+                : semReposicao(alfabeto, k, new SplittableRandom(semente));
+    }
+
+    /**
+     * Versão paralela da amostragem com reposição. Os blocos são distribuídos
+     * entre as threads do {@code ForkJoinPool} comum; o resultado é idêntico ao de
+     * {@code amostrar(entrada, k, true, semente)}.
+     *
+     * @param entrada letras distintas, ex.: "abc"
+     * @param k       quantidade de amostras (não negativa)
+     * @param semente semente do gerador
+     * @return lista com k anagramas
+     * @throws IllegalArgumentException se a entrada for inválida ou k for negativo
+     */
+    public static List<String> amostrarEmParalelo(String entrada, int k, long semente) {
+        Alphabet alfabeto = Alphabet.of(entrada);
+        exigirNaoNegativo(k);
+        return Arrays.asList(comReposicao(alfabeto, k, semente, true));
+    }
+
+    private static String[] comReposicao(Alphabet alfabeto, int k, long semente, boolean paralelo) {
+        int blocos = (k + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+        // Divisão sequencial: o fluxo de cada bloco não depende de qual thread o processa.
+        SplittableRandom raiz = new SplittableRandom(semente);
+        SplittableRandom[] fluxos = new SplittableRandom[blocos];
+        for (int b = 0; b < blocos; b++) {
+            fluxos[b] = raiz.split();
+        }
+        String[] resultado = new String[k];
+        IntStream indicesBlocos = IntStream.range(0, blocos);
+        (paralelo ? indicesBlocos.parallel() : indicesBlocos).forEach(b -> {
+            int[] perm = new int[alfabeto.tamanho()];
+            char[] buffer = new char[alfabeto.comprimentoEmChars()];
+            int fim = Math.min(k, (b + 1) * TAMANHO_BLOCO);
+            for (int i = b * TAMANHO_BLOCO; i < fim; i++) {
+                resultado[i] = sortear(alfabeto, fluxos[b], perm, buffer);
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Sem reposição. Até {@link PermutationRank#MAXIMO_LETRAS} letras, sorteia k ranks distintos
+     * com o algoritmo de Floyd (k sorteios, sem rejeição, mesmo com k próximo de n!) e os converte
+     * em permutações; acima disso o espaço é tão grande que colisões de embaralhamentos são
+     * raríssimas e basta descartá-las.
+     */
+    private static List<String> semReposicao(Alphabet alfabeto, int k, SplittableRandom random) {
+        int n = alfabeto.tamanho();
+        int[] perm = new int[n];
+        char[] buffer = new char[alfabeto.comprimentoEmChars()];
+        List<String> resultado = new ArrayList<>(k);
+        if (n <= PermutationRank.MAXIMO_LETRAS) {
+            long total = PermutationRank.fatorial(n);
+            if (k > total) {
+                throw new IllegalArgumentException("Não há " + k + " anagramas distintos: a entrada tem apenas " + total + ".");
+            }
+            Set<Long> ranks = new LinkedHashSet<>();
+            for (long j = total - k; j < total; j++) {
+                long r = random.nextLong(j + 1);
+                ranks.add(ranks.contains(r) ? j : r);
+            }
+            for (long rank : ranks) {
+                PermutationRank.desranquear(rank, n, perm);
+                resultado.add(alfabeto.montar(perm, n, buffer));
+            }
+            // Floyd garante um subconjunto uniforme, mas não uma ordem uniforme: embaralha a lista.
+            for (int i = resultado.size() - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                resultado.set(i, resultado.set(j, resultado.get(i)));
+            }
+            return resultado;
+        }
+        Set<String> vistos = new HashSet<>();
+        while (resultado.size() < k) {
+            String anagrama = sortear(alfabeto, random, perm, buffer);
+            if (vistos.add(anagrama)) {
+                resultado.add(anagrama);
+            }
+        }
+        return resultado;
+    }
+
+    /** Embaralhamento de Fisher–Yates da identidade: cada uma das n! permutações tem a mesma probabilidade. */
+    private static String sortear(Alphabet alfabeto, SplittableRandom random, int[] perm, char[] buffer) {
+        for (int i = 0; i < perm.length; i++) {
+            int j = random.nextInt(i + 1);
+            perm[i] = perm[j];
+            perm[j] = i;
+        }
+        return alfabeto.montar(perm, perm.length, buffer);
+    }
+
+    private static void exigirNaoNegativo(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("A quantidade de amostras não pode ser negativa: " + k);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.vaiquevai.anagramas;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Backtracking com limites e restrições: mesma estratégia de {@link AnagramGenerator#gerarAnagramas(String)},
+ * mas consulta periodicamente prazo, cancelamento e interrupção da thread, e poda
+ * a cada profundidade os ramos que violam as {@link AnagramConstraints}.
+ * As verificações caras ({@code System.nanoTime()}, leitura de volatile) são feitas
+ * apenas a cada {@link #INTERVALO_VERIFICACAO} nós visitados, para não pesar no laço quente.
+ * Com {@link SearchStatistics} ligado, a busca roda em uma cópia instrumentada do laço.
+ */
+final class AnagramSearch {
+
+    /** Potência de dois: a verificação usa máscara em vez de divisão. */
+    static final int INTERVALO_VERIFICACAO = 1 << 12;
+
+    private final Alphabet alfabeto;
+    private final boolean[] usados;
+    private final int[] atual;
+    private final char[] buffer;
+    private final List<String> resultado = new ArrayList<>();
+    /** {@code null} quando não há restrições (nenhum custo extra no laço). */
+    private final CompiledConstraints restricoes;
+    /** Máscara das letras livres; só mantida quando há restrições (n ≤ 64). */
+    private long livres;
+
+    private final int maximoResultados;
+    private final CancellationToken cancelamento;
+    private final long prazoNanos;
+    private final boolean temPrazo;
+
+    private long nos;
+    private GenerationResult.Motivo parada;
+
+    /** {@code null} quando a coleta está desligada; senão contadores locais, somados ao destino no fim. */
+    private final SearchStatistics estatisticas;
+    private final boolean coletando;
+    private final long[] nosPorProfundidade;
+    private final long[] podasPorProfundidade;
+    private final long[] nanosPorProfundidade;
+    private long folhas;
+
+    /**
+     * @param restricoes restrições já compiladas para o alfabeto, ou {@code null}
+     */
+    AnagramSearch(Alphabet alfabeto, CompiledConstraints restricoes, GenerationLimits limites) {
+        this.alfabeto = alfabeto;
+        this.restricoes = restricoes;
+        this.livres = alfabeto.tamanho() >= 64 ? -1L : (1L << alfabeto.tamanho()) - 1;
+        this.usados = new boolean[alfabeto.tamanho()];
+        this.atual = new int[alfabeto.tamanho()];
+        this.buffer = new char[alfabeto.comprimentoEmChars()];
+        this.maximoResultados = limites.maximoResultados();
+        this.cancelamento = limites.cancelamento();
+        this.temPrazo = limites.prazo() != null;
+        this.prazoNanos = temPrazo ? System.nanoTime() + saturar(limites.prazo().toNanos()) : 0L;
+        this.estatisticas = limites.estatisticas();
+        this.coletando = estatisticas != null;
+        int profundidades = coletando ? alfabeto.tamanho() + 1 : 0;
+        this.nosPorProfundidade = new long[profundidades];
+        this.podasPorProfundidade = new long[profundidades];
+        this.nanosPorProfundidade = new long[profundidades];
+    }
+
+    GenerationResult executar() {
+        verificar(); // respeita token/interrupção já sinalizados antes do início
+        if (parada == null) {
+            backtrack(0);
+        }
+        if (coletando) {
+            estatisticas.acumular(folhas, nosPorProfundidade, podasPorProfundidade, nanosPorProfundidade);
+        }
+        return new GenerationResult(resultado, parada == null ? GenerationResult.Motivo.COMPLETO : parada);
+    }
+
+    /**
+     * Com a coleta ligada, conta nós, folhas e podas por profundidade nos arrays locais e mede o tempo
+     * exclusivo de cada nível; desligada, cada contagem é um desvio previsível em um campo final.
+     *
+     * @return nanos gastos nesta subárvore (para descontar do nível de cima), ou 0 sem coleta
+     */
+    private long backtrack(int profundidade) {
+        long inicio = coletando ? System.nanoTime() : 0L;
+        long filhos = 0;
+        if (coletando) {
+            nosPorProfundidade[profundidade]++;
+        }
+        if ((++nos & (INTERVALO_VERIFICACAO - 1)) == 0 && verificar()) {
+            return registrar(profundidade, inicio, 0);
+        }
+        if (profundidade == atual.length) {
+            if (resultado.size() == maximoResultados) {
+                // Só há truncamento se ainda existia um resultado a produzir.
+                parada = GenerationResult.Motivo.LIMITE_DE_RESULTADOS;
+            } else {
+                resultado.add(alfabeto.montar(atual, profundidade, buffer));
+            }
+            if (coletando) {
+                folhas++;
+            }
+            return registrar(profundidade, inicio, 0);
+        }
+        for (int i = 0; i < usados.length && parada == null; i++) {
+            if (!usados[i]) {
+                if (restricoes != null && !podeColocar(profundidade, i)) {
+                    if (coletando) {
+                        podasPorProfundidade[profundidade]++;
+                    }
+                    continue; // poda: nenhum anagrama desta subárvore satisfaz as restrições
+                }
+                usados[i] = true;
+                if (restricoes != null) {
+                    livres &= ~(1L << i);
+                }
+                atual[profundidade] = i;
+                filhos += backtrack(profundidade + 1);
+                if (restricoes != null) {
+                    livres |= 1L << i;
+                }
+                usados[i] = false;
+            }
+        }
+        return registrar(profundidade, inicio, filhos);
+    }
+
+    private long registrar(int profundidade, long inicio, long filhos) {
+        if (!coletando) {
+            return 0L;
+        }
+        long total = System.nanoTime() - inicio;
+        nanosPorProfundidade[profundidade] += total - filhos;
+        return total;
+    }
+
+    private boolean podeColocar(int profundidade, int i) {
+        int anterior = profundidade == 0 ? -1 : atual[profundidade - 1];
+        return restricoes.permite(profundidade, anterior, i)
+                && restricoes.viavel(profundidade, livres & ~(1L << i));
+    }
+
+    /** @return {@code true} se a busca deve parar; registra o motivo em {@link #parada}. */
+    private boolean verificar() {
+        if (Thread.currentThread().isInterrupted()) {
+            parada = GenerationResult.Motivo.INTERROMPIDO;
+        } else if (cancelamento != null && cancelamento.isCancelado()) {
+            parada = GenerationResult.Motivo.CANCELADO;
+        } else if (temPrazo && System.nanoTime() - prazoNanos >= 0) {
+            parada = GenerationResult.Motivo.PRAZO_ESGOTADO;
+        }
+        return parada != null;
+    }
+
+    /** Evita estouro ao somar prazos enormes (ex.: {@code Duration.ofDays(Long.MAX_VALUE)}) ao relógio. */
+    private static long saturar(long nanos) {
+        return Math.min(nanos, Long.MAX_VALUE / 4);
+    }
+}
@@ -1,30 +1,415 @@
 package com.vaiquevai.anagramas;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Aplicação de console para demonstrar o gerador de anagramas.
+ * <p>
+ * Uso: {@code java -jar anagramas.jar [opções] [letras]}
+ * <ul>
+ *   <li>{@code --shard i/N}: gera apenas o fragmento {@code i} (0 ≤ i &lt; N) da ordem lexicográfica;
+ *       a concatenação dos N fragmentos é a saída completa.</li>
+ *   <li>{@code --saida arquivo}: grava no arquivo (UTF-8) em vez da saída padrão.</li>
+ *   <li>{@code --checkpoint arquivo}: salva periodicamente a posição da enumeração nesse arquivo.</li>
+ *   <li>{@code --checkpoint-intervalo n}: resultados entre checkpoints (padrão 1.000.000).</li>
+ *   <li>{@code --resume}: continua do último checkpoint; com {@code --saida}, o arquivo é truncado
+ *       no ponto salvo antes de continuar, sem duplicar nem perder linhas.</li>
+ *   <li>{@code --daemon socket}: fica em execução atendendo pedidos pelo socket Unix (ver {@link AnagramDaemon}).</li>
+ *   <li>{@code --cliente socket}: envia a entrada (e {@code --shard}) a um daemon e imprime a resposta.</li>
+ *   <li>{@code --formato texto|prefixo|prefixo-deflate}: grava uma linha por resultado (padrão) ou no formato
+ *       codificado por prefixo de {@link FrontCodedWriter}, opcionalmente com deflate.</li>
+ *   <li>{@code --decodificar arquivo}: converte um arquivo codificado por prefixo de volta para texto.</li>
+ *   <li>{@code --paralelo}: gera com todos os núcleos e grava na mesma ordem da saída sequencial
+ *       (ver {@link ParallelAnagramWriter}).</li>
+ *   <li>{@code --lote arquivo}: uma entrada por linha ({@code -} lê da entrada padrão), processadas em paralelo
+ *       e gravadas na ordem original (ver {@link AnagramBatch}); linhas inválidas viram registros de erro.</li>
+ * </ul>
  */
 public class App {
+
+    private static final long INTERVALO_CHECKPOINT_PADRAO = 1_000_000;
+
     public static void main(String[] args) throws IOException {
-        String entrada;
-        if (args.length > 0) {
-            entrada = args[0];
-        } else {
+        Opcoes opcoes;
+        try {
+            opcoes = Opcoes.ler(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Erro: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        if (opcoes.daemon != null) {
+            AnagramDaemon.servir(opcoes.daemon, Runtime.getRuntime().availableProcessors());
+            return;
+        }
+
+        if (opcoes.decodificar != null) {
+            try {
+                decodificar(opcoes);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Erro: " + e.getMessage());
+                System.exit(1);
+            } catch (NoSuchFileException e) {
+                System.err.println("Erro: arquivo não encontrado: " + e.getFile());
+                System.exit(1);
+            }
+            return;
+        }
+
+        if (opcoes.lote != null) {
+            try {
+                lote(opcoes);
+            } catch (NoSuchFileException e) {
+                System.err.println("Erro: arquivo não encontrado: " + e.getFile());
+                System.exit(1);
+            }
+            return;
+        }
+
+        String entrada = opcoes.entrada;
+        if (entrada == null && !opcoes.retomar) {
             System.out.print("Digite um grupo de letras distintas (ex.: abc): ");
             BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
             entrada = br.readLine();
         }
 
         try {
-            List<String> anagramas = AnagramGenerator.gerarAnagramas(entrada);
-            anagramas.forEach(System.out::println);
+            if (opcoes.cliente != null) {
+                consultarDaemon(opcoes, entrada);
+            } else {
+                gerar(opcoes, entrada);
+            }
         } catch (IllegalArgumentException e) {
             System.err.println("Erro: " + e.getMessage());
             System.exit(1);
+        } catch (NoSuchFileException e) {
+            System.err.println("Erro: arquivo não encontrado: " + e.getFile());
+            System.exit(1);
+        }
+    }
+
+    private static void gerar(Opcoes opcoes, String entrada) throws IOException {
+        if (opcoes.paralelo) {
+            Charset charset = opcoes.saida != null ? StandardCharsets.UTF_8 : Charset.defaultCharset();
+            OutputStream destino = abrirSaida(opcoes, 0);
+            try {
+                ParallelAnagramWriter.gravar(entrada, destino, charset, Runtime.getRuntime().availableProcessors());
+            } finally {
+                if (opcoes.saida != null) {
+                    destino.close();
+                }
+            }
+            return;
+        }
+
+        long bytesIniciais = 0;
+        AnagramIterator anagramas;
+        if (opcoes.retomar) {
+            Checkpoint checkpoint = Checkpoint.carregar(opcoes.checkpoint);
+            if (entrada != null && !entrada.equals(checkpoint.entrada())) {
+                throw new IllegalArgumentException("A entrada informada difere da do checkpoint: " + checkpoint.entrada());
+            }
+            entrada = checkpoint.entrada();
+            anagramas = AnagramGenerator.retomarAnagramas(checkpoint);
+            bytesIniciais = checkpoint.bytesSaida();
+        } else {
+            anagramas = iterador(opcoes, entrada);
+        }
+        if (opcoes.checkpoint != null) {
+            anagramas.fimRank(); // falha antes de gravar qualquer coisa se a entrada não for ranqueável
+        }
+
+        if (opcoes.formato != Formato.TEXTO) {
+            gravarCodificado(opcoes, anagramas);
+            return;
+        }
+
+        ContadorDeBytes contador = new ContadorDeBytes(abrirSaida(opcoes, bytesIniciais), bytesIniciais);
+        Charset charset = opcoes.saida != null ? StandardCharsets.UTF_8 : Charset.defaultCharset();
+        Writer saida = new BufferedWriter(new OutputStreamWriter(contador, charset));
+        try {
+            long desdeUltimo = 0;
+            while (anagramas.hasNext()) {
+                saida.write(anagramas.next());
+                saida.write(System.lineSeparator());
+                if (opcoes.checkpoint != null && ++desdeUltimo == opcoes.intervaloCheckpoint) {
+                    saida.flush(); // o deslocamento salvo precisa refletir tudo o que foi gravado
+                    Checkpoint.de(entrada, anagramas, contador.total).salvar(opcoes.checkpoint);
+                    desdeUltimo = 0;
+                }
+            }
+            saida.flush();
+            if (opcoes.checkpoint != null) {
+                Checkpoint.de(entrada, anagramas, contador.total).salvar(opcoes.checkpoint);
+            }
+        } finally {
+            if (opcoes.saida != null) {
+                saida.close();
+            } else {
+                saida.flush();
+            }
+        }
+    }
+
+    private static void lote(Opcoes opcoes) throws IOException {
+        BufferedReader entrada = opcoes.lote.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(opcoes.lote)); // UTF-8 nos dois casos
+        Charset charset = opcoes.saida != null ? StandardCharsets.UTF_8 : Charset.defaultCharset();
+        OutputStream destino = opcoes.saida != null ? Files.newOutputStream(opcoes.saida) : System.out;
+        Writer saida = new BufferedWriter(new OutputStreamWriter(destino, charset));
+        int threads = Runtime.getRuntime().availableProcessors();
+        long erros;
+        try (entrada) {
+            erros = AnagramBatch.processar(entrada, saida, threads, 2 * threads);
+        } finally {
+            if (opcoes.saida != null) {
+                saida.close();
+            } else {
+                saida.flush();
+            }
+        }
+        if (erros > 0) {
+            System.err.println(erros + " linha(s) com erro.");
+        }
+    }
+
+    private static void gravarCodificado(Opcoes opcoes, AnagramIterator anagramas) throws IOException {
+        OutputStream destino = abrirSaida(opcoes, 0);
+        FrontCodedWriter saida = new FrontCodedWriter(destino, opcoes.formato == Formato.PREFIXO_DEFLATE);
+        try {
+            while (anagramas.hasNext()) {
+                saida.gravar(anagramas.next());
+            }
+        } finally {
+            if (opcoes.saida != null) {
+                saida.close();
+            } else {
+                saida.terminar(); // não fecha System.out
+            }
+        }
+    }
+
+    private static void decodificar(Opcoes opcoes) throws IOException {
+        Charset charset = opcoes.saida != null ? StandardCharsets.UTF_8 : Charset.defaultCharset();
+        OutputStream destino = opcoes.saida != null ? Files.newOutputStream(opcoes.saida) : System.out;
+        Writer saida = new BufferedWriter(new OutputStreamWriter(destino, charset));
+        try (FrontCodedReader entrada = new FrontCodedReader(Files.newInputStream(opcoes.decodificar))) {
+            while (entrada.hasNext()) {
+                saida.write(entrada.next());
+                saida.write(System.lineSeparator());
+            }
+        } finally {
+            if (opcoes.saida != null) {
+                saida.close();
+            } else {
+                saida.flush();
+            }
+        }
+    }
+
+    /** Iterador da enumeração completa ou do fragmento pedido com {@code --shard}. */
+    static AnagramIterator iterador(Opcoes opcoes, String entrada) {
+        return opcoes.fragmentado()
+                ? AnagramGenerator.iterarFragmento(entrada, opcoes.fragmento, opcoes.totalFragmentos)
+                : AnagramGenerator.iterarAnagramas(entrada);
+    }
+
+    private static void consultarDaemon(Opcoes opcoes, String entrada) throws IOException {
+        List<String> args = new ArrayList<>();
+        if (opcoes.fragmentado()) {
+            args.add("--shard");
+            args.add(opcoes.fragmento + "/" + opcoes.totalFragmentos);
+        }
+        args.add(entrada == null ? "" : entrada);
+        Writer saida = new BufferedWriter(new OutputStreamWriter(System.out, Charset.defaultCharset()));
+        AnagramDaemon.consultar(opcoes.cliente, args, saida);
+    }
+
+    /**
+     * Abre o destino da saída. Ao retomar para um arquivo, descarta o que foi gravado
+     * depois do último checkpoint (resultados que serão gerados de novo).
+     */
+    private static OutputStream abrirSaida(Opcoes opcoes, long bytesIniciais) throws IOException {
+        if (opcoes.saida == null) {
+            return System.out;
+        }
+        if (!opcoes.retomar) {
+            return Files.newOutputStream(opcoes.saida);
+        }
+        try (FileChannel canal = FileChannel.open(opcoes.saida, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (canal.size() < bytesIniciais) {
+                throw new IllegalArgumentException("O arquivo de saída tem " + canal.size()
+                        + " bytes, menos que os " + bytesIniciais + " registrados no checkpoint.");
+            }
+            canal.truncate(bytesIniciais);
+        }
+        return Files.newOutputStream(opcoes.saida, StandardOpenOption.APPEND);
+    }
+
+    /** Conta os bytes efetivamente repassados ao destino, para registrar o deslocamento no checkpoint. */
+    private static final class ContadorDeBytes extends FilterOutputStream {
+        long total;
+
+        ContadorDeBytes(OutputStream destino, long inicial) {
+            super(destino);
+            this.total = inicial;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            total++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            total += len;
+        }
+    }
+
+    /** Formato da saída de {@code gerar}. */
+    enum Formato {
+        TEXTO, PREFIXO, PREFIXO_DEFLATE;
+
+        static Formato de(String valor) {
+            return switch (valor) {
+                case "texto" -> TEXTO;
+                case "prefixo" -> PREFIXO;
+                case "prefixo-deflate" -> PREFIXO_DEFLATE;
+                default -> throw new IllegalArgumentException(
+                        "Formato desconhecido: " + valor + " (use texto, prefixo ou prefixo-deflate).");
+            };
+        }
+    }
+
+    /** Opções de linha de comando; o primeiro argumento que não é opção é a entrada. */
+    static final class Opcoes {
+        String entrada;
+        int fragmento;
+        int totalFragmentos;
+        Path saida;
+        Path checkpoint;
+        long intervaloCheckpoint = INTERVALO_CHECKPOINT_PADRAO;
+        boolean retomar;
+        Path daemon;
+        Path cliente;
+        String lote;
+        Formato formato = Formato.TEXTO;
+        Path decodificar;
+        boolean paralelo;
+
+        boolean fragmentado() {
+            return totalFragmentos > 0;
+        }
+
+        static Opcoes ler(String[] args) {
+            Opcoes opcoes = new Opcoes();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--shard" -> opcoes.lerFragmento(valor(args, ++i, arg));
+                    case "--saida" -> opcoes.saida = Path.of(valor(args, ++i, arg));
+                    case "--checkpoint" -> opcoes.checkpoint = Path.of(valor(args, ++i, arg));
+                    case "--checkpoint-intervalo" -> opcoes.intervaloCheckpoint = positivo(valor(args, ++i, arg), arg);
+                    case "--resume" -> opcoes.retomar = true;
+                    case "--daemon" -> opcoes.daemon = Path.of(valor(args, ++i, arg));
+                    case "--cliente" -> opcoes.cliente = Path.of(valor(args, ++i, arg));
+                    case "--lote" -> opcoes.lote = valor(args, ++i, arg);
+                    case "--paralelo" -> opcoes.paralelo = true;
+                    case "--formato" -> opcoes.formato = Formato.de(valor(args, ++i, arg));
+                    case "--decodificar" -> opcoes.decodificar = Path.of(valor(args, ++i, arg));
+                    default -> {
+                        if (arg.startsWith("--")) {
+                            throw new IllegalArgumentException("Opção desconhecida: " + arg);
+                        } else if (opcoes.entrada == null) {
+                            opcoes.entrada = arg;
+                        } else {
+                            throw new IllegalArgumentException("Argumento inesperado: " + arg);
+                        }
+                    }
+                }
+            }
+            if (opcoes.retomar && opcoes.checkpoint == null) {
+                throw new IllegalArgumentException("--resume exige --checkpoint arquivo.");
+            }
+            if (opcoes.retomar && opcoes.fragmentado()) {
+                throw new IllegalArgumentException("--resume já retoma o intervalo salvo; não combine com --shard.");
+            }
+            if (opcoes.cliente != null && (opcoes.saida != null || opcoes.checkpoint != null || opcoes.retomar)) {
+                throw new IllegalArgumentException("--cliente aceita apenas a entrada e --shard.");
+            }
+            if (opcoes.lote != null && (opcoes.entrada != null || opcoes.fragmentado() || opcoes.checkpoint != null
+                    || opcoes.retomar || opcoes.daemon != null || opcoes.cliente != null)) {
+                throw new IllegalArgumentException("--lote aceita apenas --saida.");
+            }
+            if (opcoes.formato != Formato.TEXTO && (opcoes.checkpoint != null || opcoes.lote != null
+                    || opcoes.cliente != null || opcoes.daemon != null)) {
+                throw new IllegalArgumentException("--formato " + opcoes.formato.name().toLowerCase().replace('_', '-')
+                        + " não combina com --checkpoint, --lote, --cliente ou --daemon.");
+            }
+            if (opcoes.paralelo && (opcoes.fragmentado() || opcoes.checkpoint != null || opcoes.formato != Formato.TEXTO
+                    || opcoes.lote != null || opcoes.cliente != null || opcoes.daemon != null || opcoes.decodificar != null)) {
+                throw new IllegalArgumentException("--paralelo aceita apenas a entrada e --saida.");
+            }
+            if (opcoes.decodificar != null && (opcoes.entrada != null || opcoes.fragmentado() || opcoes.checkpoint != null
+                    || opcoes.lote != null || opcoes.cliente != null || opcoes.daemon != null)) {
+                throw new IllegalArgumentException("--decodificar aceita apenas --saida.");
+            }
+            return opcoes;
+        }
+
+        private void lerFragmento(String valor) {
+            int barra = valor.indexOf('/');
+            try {
+                if (barra < 0) {
+                    throw new NumberFormatException();
+                }
+                fragmento = Integer.parseInt(valor.substring(0, barra));
+                totalFragmentos = Integer.parseInt(valor.substring(barra + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Formato esperado para --shard: i/N (ex.: 0/4). Recebido: " + valor);
+            }
+            if (totalFragmentos <= 0 || fragmento < 0 || fragmento >= totalFragmentos) {
+                throw new IllegalArgumentException("--shard exige 0 <= i < N. Recebido: " + valor);
+            }
+        }
+
+        private static long positivo(String valor, String opcao) {
+            try {
+                long n = Long.parseLong(valor);
+                if (n > 0) {
+                    return n;
+                }
+            } catch (NumberFormatException e) {
+                // cai na mensagem abaixo
+            }
+            throw new IllegalArgumentException("A opção " + opcao + " exige um número positivo. Recebido: " + valor);
+        }
+
+        private static String valor(String[] args, int i, String opcao) {
+            if (i >= args.length) {
+                throw new IllegalArgumentException("A opção " + opcao + " exige um valor.");
+            }
+            return args[i];
         }
     }
-}
\ No newline at end of file
+}
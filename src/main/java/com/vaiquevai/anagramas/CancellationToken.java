@@ -0,0 +1,20 @@
+package com.vaiquevai.anagramas;
+
+/**
+ * Sinal de cancelamento cooperativo para gerações longas.
+ * Uma thread chama {@link #cancelar()} e a busca em andamento percebe o pedido
+ * na próxima verificação periódica, devolvendo o resultado parcial.
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelado;
+
+    /** Solicita o cancelamento; chamadas repetidas não têm efeito adicional. */
+    public void cancelar() {
+        cancelado = true;
+    }
+
+    public boolean isCancelado() {
+        return cancelado;
+    }
+}
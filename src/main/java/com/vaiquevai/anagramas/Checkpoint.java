@@ -0,0 +1,110 @@
+package com.vaiquevai.anagramas;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Ponto de retomada de uma enumeração longa.
+ * Guarda a entrada, o intervalo de ranks que ainda falta ([{@code proximoRank}, {@code fimRank}))
+ * e quantos bytes de saída já estavam gravados quando o checkpoint foi feito. Ao retomar,
+ * a saída é truncada nesse deslocamento e a geração continua do rank salvo,
+ * sem duplicar nem perder resultados.
+ * <p>
+ * O arquivo é um {@link Properties} pequeno, gravado em um temporário e movido
+ * atomicamente sobre o anterior, para que uma interrupção no meio da gravação
+ * nunca deixe um checkpoint corrompido.
+ *
+ * @param entrada     entrada original da enumeração
+ * @param proximoRank rank do próximo anagrama a emitir
+ * @param fimRank     rank (exclusivo) em que a enumeração termina
+ * @param bytesSaida  bytes de saída já gravados até {@code proximoRank}
+ */
+public record Checkpoint(String entrada, long proximoRank, long fimRank, long bytesSaida) {
+
+    public Checkpoint {
+        Objects.requireNonNull(entrada, "entrada");
+        if (proximoRank < 0 || proximoRank > fimRank) {
+            throw new IllegalArgumentException("Intervalo de ranks inválido: [" + proximoRank + ", " + fimRank + ")");
+        }
+        if (bytesSaida < 0) {
+            throw new IllegalArgumentException("Deslocamento de saída inválido: " + bytesSaida);
+        }
+    }
+
+    /**
+     * Captura a posição atual de um iterador da API de streaming.
+     *
+     * @param entrada    entrada usada para criar o iterador
+     * @param iterador   iterador cuja posição será salva
+     * @param bytesSaida bytes de saída já gravados (0 se a saída não for retomável)
+     */
+    public static Checkpoint de(String entrada, AnagramIterator iterador, long bytesSaida) {
+        return new Checkpoint(entrada, iterador.proximoRank(), iterador.fimRank(), bytesSaida);
+    }
+
+    /** @return {@code true} se não há mais nada a gerar */
+    public boolean concluido() {
+        return proximoRank == fimRank;
+    }
+
+    /** Grava o checkpoint de forma atômica. */
+    public void salvar(Path arquivo) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("entrada", entrada);
+        props.setProperty("proximoRank", Long.toString(proximoRank));
+        props.setProperty("fimRank", Long.toString(fimRank));
+        props.setProperty("bytesSaida", Long.toString(bytesSaida));
+
+        Path absoluto = arquivo.toAbsolutePath();
+        Path temporario = Files.createTempFile(absoluto.getParent(), absoluto.getFileName().toString(), ".tmp");
+        try {
+            try (Writer w = Files.newBufferedWriter(temporario, StandardCharsets.UTF_8)) {
+                props.store(w, "Checkpoint do gerador de anagramas");
+            }
+            try {
+                Files.move(temporario, absoluto, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporario, absoluto, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    /**
+     * Lê um checkpoint gravado por {@link #salvar(Path)}.
+     *
+     * @throws IllegalArgumentException se o arquivo não tiver o formato esperado
+     */
+    public static Checkpoint carregar(Path arquivo) throws IOException {
+        Properties props = new Properties();
+        try (Reader r = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            props.load(r);
+        }
+        try {
+            return new Checkpoint(
+                    obrigatorio(props, "entrada"),
+                    Long.parseLong(obrigatorio(props, "proximoRank")),
+                    Long.parseLong(obrigatorio(props, "fimRank")),
+                    Long.parseLong(obrigatorio(props, "bytesSaida")));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Checkpoint inválido em " + arquivo + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String obrigatorio(Properties props, String chave) {
+        String valor = props.getProperty(chave);
+        if (valor == null) {
+            throw new IllegalArgumentException("Checkpoint sem o campo '" + chave + "'.");
+        }
+        return valor;
+    }
+}
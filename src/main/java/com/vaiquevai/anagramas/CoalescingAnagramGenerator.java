@@ -0,0 +1,156 @@
+package com.vaiquevai.anagramas;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Gerador com coalescência de pedidos ("single flight"): chamadas concorrentes para a mesma
+ * entrada canônica compartilham uma única geração em andamento e recebem a mesma lista.
+ * <p>
+ * A chave é a entrada após o {@link LetterFolding} configurado, com as letras ordenadas:
+ * "cab" e "abc" caem na mesma geração, pois têm exatamente os mesmos anagramas.
+ * Nada fica em cache depois que a geração termina; a coalescência vale apenas para
+ * pedidos que chegam enquanto ela está em andamento.
+ * <p>
+ * Falhas e interrupções não contaminam chamadas futuras: a geração sai do mapa antes de
+ * publicar o desfecho, então o próximo pedido começa uma nova. Se a thread que executa a
+ * geração for interrompida, quem estava esperando não recebe um resultado parcial: um deles
+ * assume e recomeça a geração. Até 9 letras a geração é rápida demais para ser interrompida e
+ * simplesmente termina. Interromper uma thread que apenas espera não afeta as demais.
+ * <p>
+ * Instâncias são thread-safe e devem ser compartilhadas entre as threads que se quer coalescer.
+ */
+public final class CoalescingAnagramGenerator {
+
+    /** Maior entrada aceita: 12! = 479.001.600 resultados ainda cabem em uma lista; 13! não. */
+    public static final int MAXIMO_LETRAS = 12;
+
+    private final LetterFolding modo;
+    private final Function<String, GenerationResult> geracao;
+    private final ConcurrentHashMap<String, CompletableFuture<List<String>>> emAndamento = new ConcurrentHashMap<>();
+
+    /** Coalesce entradas com as mesmas letras, sem canonicalização adicional. */
+    public CoalescingAnagramGenerator() {
+        this(LetterFolding.NENHUMA);
+    }
+
+    /**
+     * @param modo canonicalização aplicada antes de calcular a chave (ex.: "Abc" e "cab" juntos em {@link LetterFolding#MINUSCULAS})
+     */
+    public CoalescingAnagramGenerator(LetterFolding modo) {
+        this(modo, CoalescingAnagramGenerator::gerarPadrao);
+    }
+
+    /** Permite substituir a geração (ex.: em testes, para controlar quando ela termina). */
+    CoalescingAnagramGenerator(LetterFolding modo, Function<String, GenerationResult> geracao) {
+        this.modo = Objects.requireNonNull(modo, "modo");
+        this.geracao = geracao;
+    }
+
+    /**
+     * Geração padrão. Até {@link PermutationTemplates#MAXIMO_LETRAS} letras usa o caminho rápido de
+     * {@link AnagramGenerator#gerarAnagramas(String)}, que termina em milissegundos. Acima disso usa a busca
+     * com limites, que percebe a interrupção da thread e devolve um resultado truncado; é isso que faz
+     * quem espera assumir a geração.
+     */
+    private static GenerationResult gerarPadrao(String letras) {
+        if (PermutationTemplates.suporta(letras.codePointCount(0, letras.length()))) {
+            return new GenerationResult(AnagramGenerator.gerarAnagramas(letras), GenerationResult.Motivo.COMPLETO);
+        }
+        return AnagramGenerator.gerarAnagramas(letras, GenerationLimits.semLimites());
+    }
+
+    /**
+     * Gera os anagramas da entrada, juntando-se a uma geração igual que já esteja em andamento.
+     *
+     * @param entrada letras distintas, ex.: "abc"
+     * @return lista imutável com as permutações da forma canônica, em ordem lexicográfica
+     * @throws IllegalArgumentException se a entrada for inválida ou tiver mais de {@link #MAXIMO_LETRAS} letras
+     *                                  (verificado na thread que chamou, sem coalescer)
+     * @throws CancellationException    se esta thread for interrompida durante a geração ou a espera
+     * @throws IllegalStateException    se a geração parar antes do fim por outro motivo (ex.: prazo ou limite
+     *                                  de resultados de uma geração configurada); todos os que esperavam recebem o mesmo erro
+     */
+    public List<String> gerarAnagramas(String entrada) {
+        Alphabet alfabeto = Alphabet.of(modo.aplicar(entrada));
+        if (alfabeto.tamanho() > MAXIMO_LETRAS) {
+            throw new IllegalArgumentException("A geração coalescida aceita até " + MAXIMO_LETRAS
+                    + " letras: " + alfabeto.tamanho());
+        }
+        String chave = alfabeto.ordenadas();
+        while (true) {
+            CompletableFuture<List<String>> nova = new CompletableFuture<>();
+            CompletableFuture<List<String>> existente = emAndamento.putIfAbsent(chave, nova);
+            if (existente == null) {
+                return executar(chave, nova);
+            }
+            try {
+                return aguardar(existente);
+            } catch (GeracaoAbandonada e) {
+                // quem gerava foi interrompido: tenta de novo, possivelmente assumindo a geração
+            }
+        }
+    }
+
+    /** Quantidade de gerações em andamento neste momento (para monitoramento). */
+    public int emAndamento() {
+        return emAndamento.size();
+    }
+
+    private List<String> executar(String chave, CompletableFuture<List<String>> voo) {
+        GenerationResult resultado;
+        try {
+            resultado = geracao.apply(chave);
+        } catch (RuntimeException | Error e) {
+            emAndamento.remove(chave, voo);
+            voo.completeExceptionally(e);
+            throw e;
+        }
+        emAndamento.remove(chave, voo);
+        if (resultado.motivo() == GenerationResult.Motivo.INTERROMPIDO
+                || resultado.motivo() == GenerationResult.Motivo.CANCELADO) {
+            voo.completeExceptionally(new GeracaoAbandonada());
+            throw new CancellationException("Geração interrompida antes de terminar: " + resultado.motivo());
+        }
+        if (resultado.truncado()) {
+            // refazer pararia no mesmo ponto: o erro é entregue a todos, sem nova tentativa
+            IllegalStateException erro = new IllegalStateException("Geração incompleta: " + resultado.motivo());
+            voo.completeExceptionally(erro);
+            throw erro;
+        }
+        List<String> anagramas = Collections.unmodifiableList(resultado.anagramas());
+        voo.complete(anagramas);
+        return anagramas;
+    }
+
+    private static List<String> aguardar(CompletableFuture<List<String>> voo) {
+        try {
+            return voo.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Espera pela geração em andamento interrompida.");
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (causa instanceof Error erro) {
+                throw erro;
+            }
+            throw new IllegalStateException(causa);
+        }
+    }
+
+    /** Sinaliza a quem espera que a geração foi abandonada e deve ser refeita. */
+    private static final class GeracaoAbandonada extends RuntimeException {
+        GeracaoAbandonada() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.vaiquevai.anagramas;
+
+import java.util.Arrays;
+
+/**
+ * {@link AnagramConstraints} traduzidas para um alfabeto específico:
+ * máscaras de bits sobre os índices das letras, consultadas em O(1) a cada nó da busca.
+ */
+final class CompiledConstraints {
+
+    /** As máscaras usam um {@code long} por posição/letra. */
+    static final int MAXIMO_LETRAS = 64;
+
+    /**
+     * Acima disso a contagem com adjacências não guarda a tabela 2^n × n inteira, só duas camadas
+     * de subconjuntos do mesmo tamanho (no pior caso, 20 letras, C(20,10) × 20 contadores ≈ 30 MB cada).
+     */
+    private static final int MAXIMO_LETRAS_CONTAGEM_TABELADA = 16;
+
+    private final int n;
+    /** Letras (índices) permitidas em cada posição. */
+    private final long[] permitidos;
+    /** Para cada letra, as letras que não podem vir logo depois dela. */
+    private final long[] proibidosApos;
+    private final boolean temAdjacencia;
+    /** Posições cuja máscara não é "todas": as únicas que valem a pena olhar adiante. */
+    private final int[] posicoesRestritas;
+
+    CompiledConstraints(int n, long[] permitidos, long[] proibidosApos, boolean temAdjacencia) {
+        this.n = n;
+        this.permitidos = permitidos;
+        this.proibidosApos = proibidosApos;
+        this.temAdjacencia = temAdjacencia;
+        long todas = n == 64 ? -1L : (1L << n) - 1;
+        int k = 0;
+        int[] restritas = new int[n];
+        for (int pos = 0; pos < n; pos++) {
+            if (permitidos[pos] != todas) {
+                restritas[k++] = pos;
+            }
+        }
+        this.posicoesRestritas = Arrays.copyOf(restritas, k);
+    }
+
+    /** @return {@code true} se há adjacências proibidas (a letra anterior importa) */
+    boolean temAdjacencia() {
+        return temAdjacencia;
+    }
+
+    /** Máscara das letras permitidas na posição, ignorando adjacências. */
+    long permitidosEm(int posicao) {
+        return permitidos[posicao];
+    }
+
+    /**
+     * @param profundidade posição onde a letra seria colocada
+     * @param anterior     índice da letra na posição anterior, ou {@code -1} na primeira posição
+     * @param indice       índice da letra candidata
+     */
+    boolean permite(int profundidade, int anterior, int indice) {
+        if ((permitidos[profundidade] & (1L << indice)) == 0) {
+            return false;
+        }
+        return anterior < 0 || (proibidosApos[anterior] & (1L << indice)) == 0;
+    }
+
+    /**
+     * Olha adiante: depois de ocupar as posições até {@code profundidade}, cada posição restrita
+     * ainda precisa ter ao menos uma letra livre permitida. Descarta cedo, por exemplo, ramos que
+     * gastaram no início a única letra aceita pelo sufixo.
+     *
+     * @param livres máscara das letras ainda não usadas
+     */
+    boolean viavel(int profundidade, long livres) {
+        for (int pos : posicoesRestritas) {
+            if (pos > profundidade && (permitidos[pos] & livres) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Conta os anagramas que satisfazem as restrições, sem montá-los.
+     * Programação dinâmica sobre subconjuntos de letras usadas (a posição é o tamanho do subconjunto):
+     * O(2^n · n) sem adjacências, O(2^n · n²) com elas (poucos segundos para 20 letras), com memória
+     * limitada em qualquer caso.
+     *
+     * @throws IllegalArgumentException se n passar de {@link PermutationRank#MAXIMO_LETRAS}
+     */
+    long contar() {
+        PermutationRank.exigirRanqueavel(n);
+        if (!temAdjacencia) {
+            return contarPorSubconjunto();
+        }
+        if (n <= MAXIMO_LETRAS_CONTAGEM_TABELADA) {
+            return contarPorSubconjuntoEUltima();
+        }
+        return contarPorCamadas();
+    }
+
+    private long contarPorSubconjunto() {
+        int cheio = (1 << n) - 1;
+        long[] caminhos = new long[1 << n]; // formas de preencher as posições 0..|S|-1 usando exatamente S
+        caminhos[0] = 1;
+        for (int s = 0; s < cheio; s++) {
+            if (caminhos[s] == 0) {
+                continue;
+            }
+            long candidatos = permitidos[Integer.bitCount(s)] & ~s & cheio;
+            while (candidatos != 0) {
+                int i = Long.numberOfTrailingZeros(candidatos);
+                candidatos &= candidatos - 1;
+                caminhos[s | (1 << i)] += caminhos[s];
+            }
+        }
+        return caminhos[cheio];
+    }
+
+    private long contarPorSubconjuntoEUltima() {
+        int cheio = (1 << n) - 1;
+        long[] caminhos = new long[(1 << n) * n]; // [S * n + ultima]
+        for (int i = 0; i < n; i++) {
+            if (permite(0, -1, i)) {
+                caminhos[(1 << i) * n + i] = 1;
+            }
+        }
+        for (int s = 1; s < cheio; s++) {
+            int pos = Integer.bitCount(s);
+            for (int ultima = 0; ultima < n; ultima++) {
+                long c = caminhos[s * n + ultima];
+                if (c == 0) {
+                    continue;
+                }
+                long candidatos = permitidos[pos] & ~proibidosApos[ultima] & ~s & cheio;
+                while (candidatos != 0) {
+                    int i = Long.numberOfTrailingZeros(candidatos);
+                    candidatos &= candidatos - 1;
+                    caminhos[(s | (1 << i)) * n + i] += c;
+                }
+            }
+        }
+        long total = 0;
+        for (int ultima = 0; ultima < n; ultima++) {
+            total += caminhos[cheio * n + ultima];
+        }
+        return total;
+    }
+
+    /**
+     * Mesma recorrência de {@link #contarPorSubconjuntoEUltima()}, camada a camada: os subconjuntos de
+     * tamanho k só alimentam os de tamanho k + 1, então basta guardar duas camadas. {@code posicao[S]}
+     * é o índice de S entre os subconjuntos do seu tamanho.
+     */
+    private long contarPorCamadas() {
+        int cheio = (1 << n) - 1;
+        int[] posicao = new int[1 << n];
+        int[] tamanhoCamada = new int[n + 1];
+        for (int s = 0; s <= cheio; s++) {
+            posicao[s] = tamanhoCamada[Integer.bitCount(s)]++;
+        }
+        long[] camada = new long[tamanhoCamada[1] * n]; // [posicao[S] * n + ultima]
+        for (int i = 0; i < n; i++) {
+            if (permite(0, -1, i)) {
+                camada[posicao[1 << i] * n + i] = 1;
+            }
+        }
+        for (int k = 1; k < n; k++) {
+            long[] proxima = new long[tamanhoCamada[k + 1] * n];
+            // percorre os subconjuntos com k bits em ordem crescente (truque de Gosper)
+            for (int s = (1 << k) - 1; s <= cheio; s = proximoComMesmosBits(s)) {
+                for (int ultima = 0; ultima < n; ultima++) {
+                    long c = camada[posicao[s] * n + ultima];
+                    if (c == 0) {
+                        continue;
+                    }
+                    long candidatos = permitidos[k] & ~proibidosApos[ultima] & ~s & cheio;
+                    while (candidatos != 0) {
+                        int i = Long.numberOfTrailingZeros(candidatos);
+                        candidatos &= candidatos - 1;
+                        proxima[posicao[s | (1 << i)] * n + i] += c;
+                    }
+                }
+            }
+            camada = proxima;
+        }
+        long total = 0;
+        for (long c : camada) {
+            total += c;
+        }
+        return total;
+    }
+
+    private static int proximoComMesmosBits(int s) {
+        int menor = s & -s;
+        int subida = s + menor;
+        return subida | ((s ^ subida) >>> 2) / menor;
+    }
+}
@@ -0,0 +1,315 @@
+package com.vaiquevai.anagramas;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Agrupamento de palavras por classe de anagrama para corpora maiores que o heap.
+ * <p>
+ * Pipeline em memória externa:
+ * <ol>
+ *   <li>o corpus é lido em fluxo por um {@link FileChannel} (UTF-8) e quebrado em palavras
+ *       (sequências de letras e marcas combinantes, por code point), canonicalizadas com um {@link LetterFolding};</li>
+ *   <li>pares (assinatura, palavra) — a assinatura é a palavra com as letras ordenadas — se acumulam
+ *       até o orçamento de memória; aí são ordenados e despejados como um "run" em arquivo temporário;</li>
+ *   <li>os runs são intercalados (k-way merge com {@link PriorityQueue}); com runs demais, a intercalação
+ *       é feita em passadas de até {@link #MAXIMO_RUNS_POR_PASSADA} arquivos, para limitar os descritores abertos;</li>
+ *   <li>cada classe vira uma linha da saída, com as palavras distintas em ordem, separadas por espaço.</li>
+ * </ol>
+ * A memória usada não depende do tamanho do corpus, apenas do orçamento informado.
+ * Os temporários são apagados ao final, com ou sem erro.
+ */
+public final class ExternalAnagramGrouper {
+
+    /** Arquivos intercalados de uma vez; acima disso a intercalação é feita em várias passadas. */
+    static final int MAXIMO_RUNS_POR_PASSADA = 64;
+
+    /** Estimativa de bytes de heap de um par além dos caracteres: dois {@code String}, seus arrays e o par. */
+    private static final int CUSTO_FIXO_PAR = 112;
+
+    private static final char SEPARADOR = '\t';
+
+    /** Chars decodificados por leitura do corpus. */
+    private static final int TAMANHO_BLOCO = 1 << 13;
+
+    private static final Comparator<String[]> ORDEM =
+            Comparator.<String[], String>comparing(par -> par[0]).thenComparing(par -> par[1]);
+
+    private ExternalAnagramGrouper() {
+        // Classe utilitária: construtor privado para evitar instanciação
+    }
+
+    /**
+     * Agrupa as palavras do corpus e grava uma classe de anagramas por linha em {@code saida} (UTF-8),
+     * em ordem de assinatura.
+     *
+     * @param corpus         texto de entrada em UTF-8 (sequências malformadas são substituídas)
+     * @param saida          arquivo de destino (sobrescrito)
+     * @param orcamentoBytes memória aproximada para os pares em buffer antes de despejar um run
+     * @param modo           canonicalização aplicada a cada palavra
+     * @param diretorioTemp  onde os runs temporários são criados
+     * @return quantidade de classes gravadas
+     * @throws IllegalArgumentException se o orçamento não for positivo
+     */
+    public static long agrupar(Path corpus, Path saida, long orcamentoBytes, LetterFolding modo, Path diretorioTemp)
+            throws IOException {
+        Objects.requireNonNull(modo, "modo");
+        if (orcamentoBytes <= 0) {
+            throw new IllegalArgumentException("O orçamento de memória deve ser positivo: " + orcamentoBytes);
+        }
+        List<Path> runs = new ArrayList<>();
+        try {
+            gerarRuns(corpus, orcamentoBytes, modo, diretorioTemp, runs);
+            while (runs.size() > MAXIMO_RUNS_POR_PASSADA) {
+                List<Path> lote = new ArrayList<>(runs.subList(0, MAXIMO_RUNS_POR_PASSADA));
+                Path combinado = Files.createTempFile(diretorioTemp, "anagramas-run", ".tmp");
+                runs.add(combinado);
+                try (Writer escritor = Files.newBufferedWriter(combinado, StandardCharsets.UTF_8)) {
+                    intercalar(lote, (assinatura, palavra) -> gravarPar(escritor, assinatura, palavra));
+                }
+                for (Path run : lote) {
+                    Files.delete(run);
+                }
+                runs.removeAll(lote);
+            }
+            try (Writer escritor = Files.newBufferedWriter(saida, StandardCharsets.UTF_8)) {
+                Agrupador agrupador = new Agrupador(escritor);
+                intercalar(runs, agrupador);
+                return agrupador.encerrar();
+            }
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /** Lê o corpus em fluxo e despeja um run ordenado sempre que o buffer passa do orçamento. */
+    private static void gerarRuns(Path corpus, long orcamentoBytes, LetterFolding modo, Path diretorioTemp,
+                                  List<Path> runs) throws IOException {
+        Coletor coletor = new Coletor(orcamentoBytes, modo, diretorioTemp, runs);
+        try (FileChannel canal = FileChannel.open(corpus, StandardOpenOption.READ);
+             Reader leitor = Channels.newReader(canal, StandardCharsets.UTF_8.newDecoder()
+                     .onMalformedInput(CodingErrorAction.REPLACE)
+                     .onUnmappableCharacter(CodingErrorAction.REPLACE), -1)) {
+            StringBuilder palavra = new StringBuilder();
+            char[] bloco = new char[TAMANHO_BLOCO];
+            int pendente = 0; // substituto alto no fim do bloco anterior, já copiado para bloco[0]
+            int lidos;
+            while ((lidos = leitor.read(bloco, pendente, bloco.length - pendente)) >= 0) {
+                int fim = pendente + lidos;
+                int i = 0;
+                while (i < fim && !(Character.isHighSurrogate(bloco[i]) && i + 1 == fim)) {
+                    int cp = Character.codePointAt(bloco, i, fim);
+                    i += Character.charCount(cp);
+                    if (parteDePalavra(cp)) {
+                        palavra.appendCodePoint(cp);
+                    } else {
+                        coletor.encerrar(palavra);
+                    }
+                }
+                pendente = fim - i;
+                if (pendente > 0) {
+                    bloco[0] = bloco[i];
+                }
+            }
+            // um substituto alto isolado no fim do arquivo não é letra
+            coletor.encerrar(palavra);
+        }
+        coletor.despejarResto();
+    }
+
+    /**
+     * Letras e marcas combinantes: uma palavra em NFD ("a" + U+0303) fica inteira para que
+     * {@link LetterFolding#SEM_ACENTOS} possa descartar as marcas depois.
+     */
+    private static boolean parteDePalavra(int cp) {
+        if (Character.isLetter(cp)) {
+            return true;
+        }
+        int tipo = Character.getType(cp);
+        return tipo == Character.NON_SPACING_MARK || tipo == Character.COMBINING_SPACING_MARK;
+    }
+
+    /** Acumula os pares da fase de leitura e despeja um run quando o orçamento é atingido. */
+    private static final class Coletor {
+        private final long orcamentoBytes;
+        private final LetterFolding modo;
+        private final Path diretorioTemp;
+        private final List<Path> runs;
+        private final List<String[]> buffer = new ArrayList<>();
+        private long ocupados;
+
+        Coletor(long orcamentoBytes, LetterFolding modo, Path diretorioTemp, List<Path> runs) {
+            this.orcamentoBytes = orcamentoBytes;
+            this.modo = modo;
+            this.diretorioTemp = diretorioTemp;
+            this.runs = runs;
+        }
+
+        /** Registra a palavra acumulada (se houver) e esvazia o acumulador. */
+        void encerrar(StringBuilder palavra) throws IOException {
+            if (palavra.length() == 0) {
+                return;
+            }
+            String canonica = modo.aplicar(palavra.toString());
+            palavra.setLength(0);
+            if (canonica.isEmpty()) {
+                return; // só marcas, descartadas pelo modo
+            }
+            buffer.add(new String[]{assinatura(canonica), canonica});
+            ocupados += CUSTO_FIXO_PAR + 4L * canonica.length();
+            if (ocupados >= orcamentoBytes) {
+                runs.add(despejar(buffer, diretorioTemp));
+                ocupados = 0;
+            }
+        }
+
+        void despejarResto() throws IOException {
+            if (!buffer.isEmpty()) {
+                runs.add(despejar(buffer, diretorioTemp));
+            }
+        }
+    }
+
+    /** Letras da palavra (code points) em ordem crescente: igual para todas as palavras da mesma classe. */
+    static String assinatura(String palavra) {
+        int[] cps = palavra.codePoints().toArray();
+        Arrays.sort(cps);
+        return new String(cps, 0, cps.length);
+    }
+
+    private static Path despejar(List<String[]> buffer, Path diretorioTemp) throws IOException {
+        buffer.sort(ORDEM);
+        Path run = Files.createTempFile(diretorioTemp, "anagramas-run", ".tmp");
+        try (Writer escritor = Files.newBufferedWriter(run, StandardCharsets.UTF_8)) {
+            for (String[] par : buffer) {
+                gravarPar(escritor, par[0], par[1]);
+            }
+        }
+        buffer.clear();
+        return run;
+    }
+
+    private static void gravarPar(Writer escritor, String assinatura, String palavra) {
+        try {
+            escritor.write(assinatura);
+            escritor.write(SEPARADOR);
+            escritor.write(palavra);
+            escritor.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Intercala runs ordenados, entregando os pares em ordem global a {@code destino}. */
+    private static void intercalar(List<Path> runs, Destino destino) throws IOException {
+        PriorityQueue<Cursor> fila = new PriorityQueue<>(Math.max(1, runs.size()),
+                Comparator.comparing((Cursor cursor) -> cursor.par, ORDEM));
+        List<Cursor> abertos = new ArrayList<>(runs.size());
+        try {
+            for (Path run : runs) {
+                Cursor cursor = new Cursor(Files.newBufferedReader(run, StandardCharsets.UTF_8));
+                abertos.add(cursor);
+                if (cursor.avancar()) {
+                    fila.add(cursor);
+                }
+            }
+            while (!fila.isEmpty()) {
+                Cursor menor = fila.poll();
+                destino.aceitar(menor.par[0], menor.par[1]);
+                if (menor.avancar()) {
+                    fila.add(menor);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (Cursor cursor : abertos) {
+                cursor.leitor.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Destino {
+        void aceitar(String assinatura, String palavra);
+    }
+
+    /** Posição de leitura em um run. */
+    private static final class Cursor {
+        final BufferedReader leitor;
+        String[] par;
+
+        Cursor(BufferedReader leitor) {
+            this.leitor = leitor;
+        }
+
+        boolean avancar() throws IOException {
+            String linha = leitor.readLine();
+            if (linha == null) {
+                return false;
+            }
+            int separador = linha.indexOf(SEPARADOR);
+            par = new String[]{linha.substring(0, separador), linha.substring(separador + 1)};
+            return true;
+        }
+    }
+
+    /** Grava uma linha por classe, sem repetir palavras (que chegam adjacentes, já ordenadas). */
+    private static final class Agrupador implements Destino {
+        private final Writer escritor;
+        private String assinaturaAtual;
+        private String ultimaPalavra;
+        private long classes;
+
+        Agrupador(Writer escritor) {
+            this.escritor = escritor;
+        }
+
+        @Override
+        public void aceitar(String assinatura, String palavra) {
+            try {
+                if (!assinatura.equals(assinaturaAtual)) {
+                    if (assinaturaAtual != null) {
+                        escritor.write('\n');
+                    }
+                    assinaturaAtual = assinatura;
+                    classes++;
+                } else if (palavra.equals(ultimaPalavra)) {
+                    return;
+                } else {
+                    escritor.write(' ');
+                }
+                escritor.write(palavra);
+                ultimaPalavra = palavra;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        long encerrar() throws IOException {
+            if (assinaturaAtual != null) {
+                escritor.write('\n');
+            }
+            return classes;
+        }
+    }
+}
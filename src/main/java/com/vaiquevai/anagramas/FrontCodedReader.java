@@ -0,0 +1,119 @@
+package com.vaiquevai.anagramas;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decodificador em fluxo do formato de {@link FrontCodedWriter}: lê um registro por vez,
+ * guardando apenas o resultado anterior, então arquivos de qualquer tamanho cabem em memória O(n).
+ * Erros de leitura durante a iteração são relançados como {@link UncheckedIOException}.
+ */
+public final class FrontCodedReader implements Iterator<String>, Closeable {
+
+    private final InputStream entrada;
+    private String anterior = "";
+    private String proximo;
+    private byte[] sufixo = new byte[64];
+
+    /**
+     * @param origem fluxo posicionado no início do cabeçalho (fechado junto com este leitor)
+     * @throws IllegalArgumentException se o cabeçalho não for do formato ou de versão desconhecida
+     */
+    public FrontCodedReader(InputStream origem) throws IOException {
+        byte[] cabecalho = origem.readNBytes(FrontCodedWriter.MAGICO.length + 2);
+        if (cabecalho.length < FrontCodedWriter.MAGICO.length + 2
+                || !Arrays.equals(cabecalho, 0, FrontCodedWriter.MAGICO.length, FrontCodedWriter.MAGICO, 0, FrontCodedWriter.MAGICO.length)) {
+            throw new IllegalArgumentException("O arquivo não está no formato codificado por prefixo.");
+        }
+        int versao = cabecalho[FrontCodedWriter.MAGICO.length];
+        if (versao != FrontCodedWriter.VERSAO) {
+            throw new IllegalArgumentException("Versão do formato codificado por prefixo não suportada: " + versao);
+        }
+        boolean deflate = (cabecalho[FrontCodedWriter.MAGICO.length + 1] & FrontCodedWriter.OPCAO_DEFLATE) != 0;
+        InputStream corpo = deflate ? new InflaterInputStream(origem) : origem;
+        this.entrada = new BufferedInputStream(corpo, 1 << 16);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (proximo == null) {
+            try {
+                proximo = ler();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return proximo != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Não há mais resultados.");
+        }
+        String atual = proximo;
+        proximo = null;
+        return atual;
+    }
+
+    /** @return próximo resultado, ou {@code null} no fim do arquivo */
+    private String ler() throws IOException {
+        int comum = lerVarint(true);
+        if (comum < 0) {
+            return null;
+        }
+        int tamanho = lerVarint(false);
+        if (comum > anterior.length()) {
+            throw new IOException("Registro corrompido: prefixo de " + comum + " chars após resultado de " + anterior.length());
+        }
+        if (sufixo.length < tamanho) {
+            sufixo = new byte[Math.max(tamanho, 2 * sufixo.length)];
+        }
+        if (entrada.readNBytes(sufixo, 0, tamanho) != tamanho) {
+            throw new IOException("Arquivo truncado no meio de um registro.");
+        }
+        anterior = anterior.substring(0, comum) + new String(sufixo, 0, tamanho, StandardCharsets.UTF_8);
+        return anterior;
+    }
+
+    /**
+     * Lê um varint não negativo de até 5 bytes.
+     *
+     * @param fimPermitido se o fim do arquivo antes do primeiro byte é um fim normal (devolve -1,
+     *                     o único valor negativo possível)
+     */
+    private int lerVarint(boolean fimPermitido) throws IOException {
+        int valor = 0;
+        for (int deslocamento = 0; deslocamento < 32; deslocamento += 7) {
+            int b = entrada.read();
+            if (b < 0) {
+                if (fimPermitido && deslocamento == 0) {
+                    return -1;
+                }
+                throw new IOException("Arquivo truncado no meio de um registro.");
+            }
+            if (deslocamento == 28 && b > 0x07) {
+                // o quinto byte só carrega os bits 28-30: mais que isso seria negativo ou não caberia em int
+                throw new IOException("Registro corrompido: inteiro fora do intervalo.");
+            }
+            valor |= (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Registro corrompido: inteiro longo demais.");
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+}
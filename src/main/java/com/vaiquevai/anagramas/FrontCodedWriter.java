@@ -0,0 +1,139 @@
+package com.vaiquevai.anagramas;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Grava uma sequência ordenada de strings em codificação por prefixo ("front coding"):
+ * cada resultado vira (tamanho do prefixo comum com o anterior, sufixo). Vizinhos na ordem
+ * lexicográfica compartilham quase todo o começo — em uma enumeração de n letras, em média
+ * só as últimas duas ou três mudam —, então o arquivo encolhe várias vezes.
+ * <p>
+ * Formato:
+ * <pre>
+ * cabeçalho: "ANFC" (4 bytes), versão (1 byte), opções (1 byte: bit 0 = deflate)
+ * registros: varint(prefixo comum, em chars) varint(bytes do sufixo) sufixo em UTF-8
+ * </pre>
+ * Com deflate, tudo depois do cabeçalho passa por {@link DeflaterOutputStream}.
+ * O fim dos registros é o fim do arquivo; {@link FrontCodedReader} decodifica em fluxo.
+ */
+public final class FrontCodedWriter implements Closeable {
+
+    static final byte[] MAGICO = {'A', 'N', 'F', 'C'};
+    static final int VERSAO = 1;
+    static final int OPCAO_DEFLATE = 1;
+
+    private static final int TAMANHO_BUFFER = 1 << 16;
+
+    private final OutputStream saida;
+    /** Buffer próprio: evita a sincronização de {@code BufferedOutputStream} a cada byte. */
+    private final byte[] buffer = new byte[TAMANHO_BUFFER];
+    private int posicao;
+    private String anterior = "";
+
+    /**
+     * @param destino fluxo de saída (fechado junto com este escritor)
+     * @param deflate se o corpo deve ser comprimido também com deflate
+     */
+    public FrontCodedWriter(OutputStream destino, boolean deflate) throws IOException {
+        destino.write(MAGICO);
+        destino.write(VERSAO);
+        destino.write(deflate ? OPCAO_DEFLATE : 0);
+        this.saida = deflate ? new DeflaterOutputStream(destino, new Deflater(Deflater.BEST_SPEED), TAMANHO_BUFFER) : destino;
+    }
+
+    /** Grava o próximo resultado. */
+    public void gravar(String texto) throws IOException {
+        int comum = prefixoComum(anterior, texto);
+        int tamanho = texto.length() - comum;
+        long pior = 10 + 3L * tamanho; // dois varints e até 3 bytes UTF-8 por char
+        if (posicao + Math.min(pior, 10) > buffer.length || (pior <= buffer.length && posicao + pior > buffer.length)) {
+            descarregar();
+        }
+        gravarVarint(comum);
+        if (pior <= buffer.length && ascii(texto, comum)) {
+            gravarVarint(tamanho);
+            for (int i = comum; i < texto.length(); i++) {
+                buffer[posicao++] = (byte) texto.charAt(i);
+            }
+        } else {
+            byte[] sufixo = texto.substring(comum).getBytes(StandardCharsets.UTF_8);
+            gravarVarint(sufixo.length);
+            if (posicao + sufixo.length > buffer.length) {
+                descarregar();
+                saida.write(sufixo);
+            } else {
+                System.arraycopy(sufixo, 0, buffer, posicao, sufixo.length);
+                posicao += sufixo.length;
+            }
+        }
+        anterior = texto;
+    }
+
+    private static boolean ascii(String texto, int inicio) {
+        for (int i = inicio; i < texto.length(); i++) {
+            if (texto.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Prefixo comum em chars, sem partir um par substituto ao meio. */
+    static int prefixoComum(String a, String b) {
+        int limite = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < limite && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (i > 0 && Character.isHighSurrogate(b.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    /** Até 5 bytes; o espaço já foi garantido por {@link #gravar(String)}. */
+    private void gravarVarint(int valor) {
+        while ((valor & ~0x7F) != 0) {
+            buffer[posicao++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        buffer[posicao++] = (byte) valor;
+    }
+
+    private void descarregar() throws IOException {
+        saida.write(buffer, 0, posicao);
+        posicao = 0;
+    }
+
+    /**
+     * Descarrega o buffer. Com deflate, o fluxo só fica decodificável depois de
+     * {@link #terminar()} ou {@link #close()}.
+     */
+    public void flush() throws IOException {
+        descarregar();
+        saida.flush();
+    }
+
+    /**
+     * Grava tudo o que falta, inclusive o fim do fluxo deflate, sem fechar o destino
+     * (ex.: {@code System.out}). Depois disso nada mais pode ser gravado.
+     */
+    public void terminar() throws IOException {
+        descarregar();
+        if (saida instanceof DeflaterOutputStream deflater) {
+            deflater.finish();
+        }
+        saida.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        terminar();
+        saida.close();
+    }
+}
@@ -0,0 +1,93 @@
+package com.vaiquevai.anagramas;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Limites aplicados a uma geração: prazo, quantidade máxima de resultados e token de cancelamento.
+ * Imutável; cada método {@code com...} devolve uma nova instância.
+ *
+ * <pre>{@code
+ * GenerationLimits limites = GenerationLimits.semLimites()
+ *         .comPrazo(Duration.ofMillis(200))
+ *         .comMaximoResultados(10_000);
+ * }</pre>
+ */
+public final class GenerationLimits {
+
+    private static final GenerationLimits SEM_LIMITES = new GenerationLimits(null, Integer.MAX_VALUE, null, null);
+
+    private final Duration prazo;
+    private final int maximoResultados;
+    private final CancellationToken cancelamento;
+    private final SearchStatistics estatisticas;
+
+    private GenerationLimits(Duration prazo, int maximoResultados, CancellationToken cancelamento,
+                             SearchStatistics estatisticas) {
+        this.prazo = prazo;
+        this.maximoResultados = maximoResultados;
+        this.cancelamento = cancelamento;
+        this.estatisticas = estatisticas;
+    }
+
+    /** Nenhum limite: equivale a {@link AnagramGenerator#gerarAnagramas(String)}, exceto por {@code Thread.interrupt()}. */
+    public static GenerationLimits semLimites() {
+        return SEM_LIMITES;
+    }
+
+    /**
+     * @param prazo tempo máximo da geração, contado a partir do início da chamada
+     */
+    public GenerationLimits comPrazo(Duration prazo) {
+        Objects.requireNonNull(prazo, "prazo");
+        if (prazo.isNegative()) {
+            throw new IllegalArgumentException("O prazo não pode ser negativo: " + prazo);
+        }
+        return new GenerationLimits(prazo, maximoResultados, cancelamento, estatisticas);
+    }
+
+    /**
+     * @param maximoResultados quantidade máxima de anagramas retornados (positiva)
+     */
+    public GenerationLimits comMaximoResultados(int maximoResultados) {
+        if (maximoResultados <= 0) {
+            throw new IllegalArgumentException("O máximo de resultados deve ser positivo: " + maximoResultados);
+        }
+        return new GenerationLimits(prazo, maximoResultados, cancelamento, estatisticas);
+    }
+
+    /**
+     * @param cancelamento token consultado periodicamente durante a busca
+     */
+    public GenerationLimits comCancelamento(CancellationToken cancelamento) {
+        Objects.requireNonNull(cancelamento, "cancelamento");
+        return new GenerationLimits(prazo, maximoResultados, cancelamento, estatisticas);
+    }
+
+    /**
+     * @param estatisticas onde a busca soma nós, podas e tempos por profundidade ao terminar
+     */
+    public GenerationLimits comEstatisticas(SearchStatistics estatisticas) {
+        Objects.requireNonNull(estatisticas, "estatisticas");
+        return new GenerationLimits(prazo, maximoResultados, cancelamento, estatisticas);
+    }
+
+    /** @return prazo configurado ou {@code null} se não houver */
+    public Duration prazo() {
+        return prazo;
+    }
+
+    public int maximoResultados() {
+        return maximoResultados;
+    }
+
+    /** @return token configurado ou {@code null} se não houver */
+    public CancellationToken cancelamento() {
+        return cancelamento;
+    }
+
+    /** @return destino das estatísticas ou {@code null} se a coleta estiver desligada */
+    public SearchStatistics estatisticas() {
+        return estatisticas;
+    }
+}
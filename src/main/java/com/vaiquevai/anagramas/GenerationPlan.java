@@ -0,0 +1,128 @@
+package com.vaiquevai.anagramas;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Plano escolhido pelo {@link GenerationPlanner}: estratégia, números que a justificam e
+ * uma explicação legível, própria para log. {@link #abrir()} executa o plano.
+ *
+ * @param entrada          entrada planejada
+ * @param estrategia       motor e representação escolhidos
+ * @param letras           quantidade de letras (n)
+ * @param total            quantidade de anagramas (n!), ou {@code -1} se não couber em {@code long}
+ * @param bytesEstimados   heap estimado para materializar tudo em lista, ou {@code Long.MAX_VALUE}
+ * @param memoriaLivre     heap disponível considerado no momento do plano
+ * @param nucleos          processadores considerados
+ * @param blocosAdiantados blocos gerados em paralelo à frente do consumidor (1, exceto em {@link Estrategia#FLUXO_PARALELO})
+ * @param motivo           por que a estratégia foi escolhida
+ */
+public record GenerationPlan(String entrada, Estrategia estrategia, int letras, long total, long bytesEstimados,
+                             long memoriaLivre, int nucleos, int blocosAdiantados, String motivo) {
+
+    /** Resultados por bloco do fluxo paralelo: 7! strings, algumas centenas de KB. */
+    static final long LINHAS_POR_BLOCO = 5_040;
+
+    /** Motores e representações disponíveis. */
+    public enum Estrategia {
+        /** {@link AnagramGenerator#gerarAnagramas(String)}: lista materializada, pequena. */
+        LISTA,
+        /** {@link AnagramGenerator#visaoAnagramas(String)}: lista virtual compacta, cada elemento calculado do rank. */
+        VISAO_COMPACTA,
+        /** {@link AnagramGenerator#iterarAnagramas(String)}: fluxo sequencial com memória O(n). */
+        FLUXO,
+        /**
+         * Fluxo cujos blocos de {@link #LINHAS_POR_BLOCO} ranks são gerados no {@link java.util.concurrent.ForkJoinPool#commonPool()}
+         * e entregues em ordem; até {@code blocosAdiantados} blocos ficam prontos ou em geração à frente do consumidor.
+         */
+        FLUXO_PARALELO
+    }
+
+    /**
+     * Executa o plano. Para {@link Estrategia#LISTA} e {@link Estrategia#VISAO_COMPACTA} o resultado
+     * também é uma {@link java.util.List}; nos fluxos, cada iteração recomeça a enumeração.
+     */
+    public Iterable<String> abrir() {
+        return switch (estrategia) {
+            case LISTA -> AnagramGenerator.gerarAnagramas(entrada);
+            case VISAO_COMPACTA -> AnagramGenerator.visaoAnagramas(entrada);
+            case FLUXO -> () -> AnagramGenerator.iterarAnagramas(entrada);
+            case FLUXO_PARALELO -> () -> new FluxoParalelo(Alphabet.of(entrada), blocosAdiantados);
+        };
+    }
+
+    /** Linha única para log. */
+    public String descricao() {
+        return estrategia + " para " + letras + " letras (" + (total < 0 ? "mais de 20!" : total + " anagramas")
+                + ", " + nucleos + " núcleos, " + memoriaLivre / (1024 * 1024) + " MB livres"
+                + (blocosAdiantados > 1 ? ", " + blocosAdiantados + " blocos adiantados" : "") + "): " + motivo;
+    }
+
+    /**
+     * Percorre a enumeração em blocos gerados em paralelo. Mantém uma fila de até {@code janela}
+     * blocos agendados, na ordem dos ranks; o consumidor espera só pelo primeiro, e cada bloco
+     * consumido abre espaço para agendar o seguinte. Abandonar o iterador deixa no máximo
+     * {@code janela} blocos terminarem sem uso.
+     */
+    private static final class FluxoParalelo implements Iterator<String> {
+        private final Alphabet alfabeto;
+        private final long total;
+        private final int janela;
+        private final Deque<CompletableFuture<String[]>> fila;
+        private long proximoRank;
+        private String[] atual = new String[0];
+        private int posicao;
+
+        FluxoParalelo(Alphabet alfabeto, int janela) {
+            this.alfabeto = alfabeto;
+            this.total = PermutationRank.fatorial(alfabeto.tamanho());
+            this.janela = Math.max(1, janela);
+            this.fila = new ArrayDeque<>(this.janela);
+            agendar();
+        }
+
+        private void agendar() {
+            while (fila.size() < janela && proximoRank < total) {
+                long inicio = proximoRank;
+                long quantidade = Math.min(LINHAS_POR_BLOCO, total - inicio);
+                proximoRank += quantidade;
+                fila.addLast(CompletableFuture.supplyAsync(() -> gerar(inicio, quantidade)));
+            }
+        }
+
+        private String[] gerar(long inicio, long quantidade) {
+            String[] bloco = new String[(int) quantidade];
+            AnagramIterator anagramas = new AnagramIterator(alfabeto, inicio, quantidade);
+            for (int i = 0; i < bloco.length; i++) {
+                bloco[i] = anagramas.next();
+            }
+            return bloco;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (posicao == atual.length && !fila.isEmpty()) {
+                try {
+                    atual = fila.removeFirst().join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException r ? r : e;
+                }
+                posicao = 0;
+                agendar();
+            }
+            return posicao < atual.length;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Não há mais anagramas.");
+            }
+            return atual[posicao++];
+        }
+    }
+}
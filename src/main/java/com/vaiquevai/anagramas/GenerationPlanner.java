@@ -0,0 +1,81 @@
+package com.vaiquevai.anagramas;
+
+/**
+ * Escolhe motor e representação a partir do tamanho da entrada, do heap livre e dos núcleos,
+ * para que o chamador não precise decidir entre lista, visão compacta ou fluxo:
+ * <ul>
+ *   <li>até {@link #MAXIMO_LISTA} letras, se a lista couber com folga no heap: {@link GenerationPlan.Estrategia#LISTA};</li>
+ *   <li>até {@link #MAXIMO_VISAO} letras (ou menos, com pouco heap): {@link GenerationPlan.Estrategia#VISAO_COMPACTA},
+ *       O(n) de memória e acesso aleatório;</li>
+ *   <li>acima disso: {@link GenerationPlan.Estrategia#FLUXO_PARALELO} com mais de um núcleo e
+ *       {@link GenerationPlan.Estrategia#FLUXO} com um só.</li>
+ * </ul>
+ * O plano devolvido traz os números usados na decisão; registre {@link GenerationPlan#descricao()} em log.
+ */
+public final class GenerationPlanner {
+
+    /** Maior entrada materializada em lista (8! = 40.320 strings). */
+    public static final int MAXIMO_LISTA = 8;
+
+    /** Maior entrada servida pela visão compacta; acima disso só fluxo. */
+    public static final int MAXIMO_VISAO = 10;
+
+    /** A lista só é escolhida se ocupar no máximo esta fração do heap livre. */
+    private static final int FRACAO_HEAP = 4;
+
+    /** Blocos adiantados por núcleo no fluxo paralelo: mantém os núcleos ocupados enquanto o consumidor lê. */
+    private static final int BLOCOS_POR_NUCLEO = 4;
+
+    /** Cabeçalho do {@code String} e do {@code byte[]}, referência na lista e folga do {@code ArrayList}. */
+    private static final int CUSTO_FIXO_RESULTADO = 64;
+
+    private GenerationPlanner() {
+        // Classe utilitária: construtor privado para evitar instanciação
+    }
+
+    /**
+     * Planeja com o heap e os núcleos atuais da JVM ({@link Runtime}).
+     *
+     * @throws IllegalArgumentException se a entrada for inválida
+     */
+    public static GenerationPlan planejar(String entrada) {
+        Runtime runtime = Runtime.getRuntime();
+        long livre = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        return planejar(entrada, livre, runtime.availableProcessors());
+    }
+
+    /**
+     * Planeja para um heap livre e uma quantidade de núcleos informados.
+     *
+     * @throws IllegalArgumentException se a entrada for inválida ou os recursos não forem positivos
+     */
+    public static GenerationPlan planejar(String entrada, long memoriaLivre, int nucleos) {
+        if (memoriaLivre <= 0 || nucleos <= 0) {
+            throw new IllegalArgumentException("Memória e núcleos devem ser positivos: " + memoriaLivre + ", " + nucleos);
+        }
+        Alphabet alfabeto = Alphabet.of(entrada);
+        int n = alfabeto.tamanho();
+        long total = n <= PermutationRank.MAXIMO_LETRAS ? PermutationRank.fatorial(n) : -1;
+        long porResultado = CUSTO_FIXO_RESULTADO + 2L * alfabeto.comprimentoEmChars();
+        long bytes = total >= 0 && total <= Long.MAX_VALUE / porResultado ? total * porResultado : Long.MAX_VALUE;
+
+        if (n <= MAXIMO_LISTA && bytes <= memoriaLivre / FRACAO_HEAP) {
+            return new GenerationPlan(entrada, GenerationPlan.Estrategia.LISTA, n, total, bytes, memoriaLivre, nucleos, 1,
+                    "lista pequena, cabe com folga no heap");
+        }
+        if (n <= MAXIMO_VISAO) {
+            String motivo = n <= MAXIMO_LISTA
+                    ? "a lista ocuparia mais de 1/" + FRACAO_HEAP + " do heap livre; visão calcula cada elemento do rank"
+                    : "grande demais para materializar; visão calcula cada elemento do rank";
+            return new GenerationPlan(entrada, GenerationPlan.Estrategia.VISAO_COMPACTA, n, total, bytes, memoriaLivre,
+                    nucleos, 1, motivo);
+        }
+        if (nucleos > 1 && total >= 0) {
+            return new GenerationPlan(entrada, GenerationPlan.Estrategia.FLUXO_PARALELO, n, total, bytes, memoriaLivre,
+                    nucleos, nucleos * BLOCOS_POR_NUCLEO,
+                    "enumeração longa; blocos gerados em paralelo nos núcleos e entregues em ordem");
+        }
+        return new GenerationPlan(entrada, GenerationPlan.Estrategia.FLUXO, n, total, bytes, memoriaLivre, nucleos, 1,
+                total < 0 ? "mais de 20 letras: só o fluxo sequencial não depende de rank" : "um único núcleo: fluxo sequencial");
+    }
+}
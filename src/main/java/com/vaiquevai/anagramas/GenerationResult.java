@@ -0,0 +1,34 @@
+package com.vaiquevai.anagramas;
+
+import java.util.List;
+
+/**
+ * Resultado de uma geração com limites.
+ * Quando a busca para antes do fim, {@link #truncado()} é verdadeiro e
+ * {@link #motivo()} informa o limite atingido; {@link #anagramas()} traz
+ * o prefixo (em ordem lexicográfica) do que já havia sido produzido.
+ *
+ * @param anagramas resultados produzidos até a parada
+ * @param motivo    por que a busca terminou
+ */
+public record GenerationResult(List<String> anagramas, Motivo motivo) {
+
+    /** Motivo de término da busca. */
+    public enum Motivo {
+        /** Todas as permutações foram geradas. */
+        COMPLETO,
+        /** O prazo expirou. */
+        PRAZO_ESGOTADO,
+        /** O máximo de resultados foi atingido antes do fim. */
+        LIMITE_DE_RESULTADOS,
+        /** O {@link CancellationToken} foi acionado. */
+        CANCELADO,
+        /** A thread chamadora foi interrompida (a flag de interrupção é preservada). */
+        INTERROMPIDO
+    }
+
+    /** @return {@code true} se a lista não contém todas as permutações */
+    public boolean truncado() {
+        return motivo != Motivo.COMPLETO;
+    }
+}
@@ -0,0 +1,104 @@
+package com.vaiquevai.anagramas;
+
+import java.text.Normalizer;
+
+/**
+ * Modos de canonicalização das letras antes da validação e da geração.
+ * Entradas equivalentes no modo escolhido (ex.: "Ábc" e "abc" em {@link #SEM_ACENTOS})
+ * passam a ter a mesma forma canônica e, portanto, os mesmos anagramas.
+ * <p>
+ * Para Latin-1 e Latin Estendido A/B (até U+024F) o mapeamento vem de tabelas
+ * pré-calculadas uma única vez; {@link Normalizer} só é chamado para letras fora
+ * dessa faixa ou quando a entrada traz marcas combinantes avulsas (forma NFD).
+ */
+public enum LetterFolding {
+
+    /** Mantém a entrada como está (comportamento padrão, sensível a maiúsculas). */
+    NENHUMA,
+
+    /** Compõe em NFC e converte para minúsculas: "Ábc" → "ábc". */
+    MINUSCULAS,
+
+    /** Decompõe em NFD, descarta os diacríticos e converte para minúsculas: "Ábc" → "abc". */
+    SEM_ACENTOS;
+
+    /**
+     * Aplica o modo à entrada. Espaços, dígitos e demais não-letras são preservados,
+     * para que a validação posterior continue apontando o caractere inválido.
+     *
+     * @param entrada texto original (pode ser {@code null}, que é devolvido sem alteração)
+     * @return texto na forma canônica deste modo
+     */
+    public String aplicar(String entrada) {
+        if (this == NENHUMA || entrada == null) {
+            return entrada;
+        }
+        if (this == MINUSCULAS && temMarcaCombinante(entrada)) {
+            entrada = Normalizer.normalize(entrada, Normalizer.Form.NFC);
+        }
+        StringBuilder sb = new StringBuilder(entrada.length());
+        for (int i = 0; i < entrada.length(); ) {
+            int cp = entrada.codePointAt(i);
+            i += Character.charCount(cp);
+            if (this == SEM_ACENTOS && isMarcaCombinante(cp)) {
+                continue; // diacrítico avulso de uma entrada em NFD
+            }
+            sb.appendCodePoint(mapear(cp));
+        }
+        return sb.toString();
+    }
+
+    private int mapear(int cp) {
+        if (cp < Tabelas.LIMITE) {
+            return this == SEM_ACENTOS ? Tabelas.BASE_MINUSCULA[cp] : Tabelas.MINUSCULA[cp];
+        }
+        return this == SEM_ACENTOS ? baseMinuscula(cp) : Character.toLowerCase(cp);
+    }
+
+    /**
+     * Letra base minúscula de um code point: decompõe em NFD e descarta as marcas.
+     * Se a decomposição não resultar em exatamente uma letra base, mantém a original.
+     */
+    private static int baseMinuscula(int cp) {
+        String decomposto = Normalizer.normalize(new String(Character.toChars(cp)), Normalizer.Form.NFD);
+        int base = -1;
+        for (int i = 0; i < decomposto.length(); ) {
+            int c = decomposto.codePointAt(i);
+            i += Character.charCount(c);
+            if (isMarcaCombinante(c)) {
+                continue;
+            }
+            if (base != -1) {
+                return Character.toLowerCase(cp);
+            }
+            base = c;
+        }
+        return Character.toLowerCase(base == -1 ? cp : base);
+    }
+
+    private static boolean temMarcaCombinante(String texto) {
+        return texto.codePoints().anyMatch(LetterFolding::isMarcaCombinante);
+    }
+
+    private static boolean isMarcaCombinante(int cp) {
+        int tipo = Character.getType(cp);
+        return tipo == Character.NON_SPACING_MARK
+                || tipo == Character.COMBINING_SPACING_MARK
+                || tipo == Character.ENCLOSING_MARK;
+    }
+
+    /** Tabelas carregadas na primeira utilização (idioma holder: inicialização preguiçosa e thread-safe). */
+    private static final class Tabelas {
+        /** Cobre Latin-1 Suplementar e Latin Estendido A/B. */
+        static final int LIMITE = 0x250;
+        static final int[] MINUSCULA = new int[LIMITE];
+        static final int[] BASE_MINUSCULA = new int[LIMITE];
+
+        static {
+            for (int cp = 0; cp < LIMITE; cp++) {
+                MINUSCULA[cp] = Character.toLowerCase(cp);
+                BASE_MINUSCULA[cp] = baseMinuscula(cp);
+            }
+        }
+    }
+}
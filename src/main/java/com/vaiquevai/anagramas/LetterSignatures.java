@@ -0,0 +1,137 @@
+package com.vaiquevai.anagramas;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Assinaturas de anagrama (histogramas de letras) para lotes de palavras ASCII.
+ * Duas palavras são anagramas uma da outra exatamente quando têm a mesma assinatura,
+ * o que torna a assinatura a chave natural para agrupar e consultar anagramas em massa.
+ * <p>
+ * Cada assinatura ocupa {@link #TAMANHO} bytes (26 contadores de "a" a "z", sem distinção
+ * de maiúsculas, mais preenchimento). Os lotes são guardados lado a lado em um único
+ * {@code byte[]}, sem um objeto por palavra.
+ * <p>
+ * O cálculo usa a Vector API quando a JVM é iniciada com
+ * {@code --add-modules jdk.incubator.vector} e o processador tem vetores de 256 bits;
+ * caso contrário cai automaticamente na implementação escalar, com o mesmo resultado.
+ * A propriedade {@code -Danagramas.assinaturas.escalar=true} força o caminho escalar.
+ */
+public final class LetterSignatures {
+
+    /** Bytes por assinatura. */
+    public static final int TAMANHO = 32;
+
+    /** Contadores efetivamente usados ("a" a "z"). */
+    static final int LETRAS = 26;
+
+    /** Contadores de 1 byte: palavras mais longas poderiam estourar uma contagem. */
+    static final int MAXIMO_BYTES_POR_PALAVRA = 255;
+
+    private static final SignatureKernel KERNEL = escolherKernel();
+
+    private LetterSignatures() {
+        // Classe utilitária: construtor privado para evitar instanciação
+    }
+
+    /** Nome da implementação em uso, útil para registrar em log. */
+    public static String implementacao() {
+        return KERNEL.nome();
+    }
+
+    /**
+     * @param palavra palavra ASCII (demais caracteres são ignorados)
+     * @return assinatura de {@link #TAMANHO} bytes
+     */
+    public static byte[] calcular(String palavra) {
+        return calcularLote(new byte[][]{palavra.getBytes(StandardCharsets.US_ASCII)});
+    }
+
+    /**
+     * Calcula as assinaturas de um lote.
+     *
+     * @param palavras palavras em bytes ASCII
+     * @return {@code palavras.length * TAMANHO} bytes; a assinatura {@code i} começa em {@code i * TAMANHO}
+     * @throws IllegalArgumentException se alguma palavra passar de 255 bytes
+     */
+    public static byte[] calcularLote(byte[][] palavras) {
+        return calcularLote(palavras, KERNEL);
+    }
+
+    static byte[] calcularLote(byte[][] palavras, SignatureKernel kernel) {
+        byte[] assinaturas = new byte[palavras.length * TAMANHO];
+        for (int i = 0; i < palavras.length; i++) {
+            byte[] palavra = Objects.requireNonNull(palavras[i], "palavra");
+            if (palavra.length > MAXIMO_BYTES_POR_PALAVRA) {
+                throw new IllegalArgumentException("Palavra " + i + " tem " + palavra.length
+                        + " bytes; o máximo é " + MAXIMO_BYTES_POR_PALAVRA + ".");
+            }
+            kernel.histograma(palavra, assinaturas, i * TAMANHO);
+        }
+        return assinaturas;
+    }
+
+    /**
+     * @return {@code true} se as palavras {@code i} e {@code j} do lote são anagramas
+     */
+    public static boolean mesmaAssinatura(byte[] assinaturas, int i, int j) {
+        return KERNEL.iguais(assinaturas, i * TAMANHO, assinaturas, j * TAMANHO);
+    }
+
+    /**
+     * Procura no lote todas as assinaturas iguais a {@code alvo}.
+     *
+     * @param alvo        assinatura de {@link #TAMANHO} bytes
+     * @param assinaturas lote produzido por {@link #calcularLote(byte[][])}
+     * @return índices, em ordem crescente, das palavras que são anagramas do alvo
+     */
+    public static int[] buscarIguais(byte[] alvo, byte[] assinaturas) {
+        return buscarIguais(alvo, assinaturas, KERNEL);
+    }
+
+    static int[] buscarIguais(byte[] alvo, byte[] assinaturas, SignatureKernel kernel) {
+        int quantidade = assinaturas.length / TAMANHO;
+        int[] encontrados = new int[Math.min(quantidade, 16)];
+        int k = 0;
+        for (int i = 0; i < quantidade; i++) {
+            if (kernel.iguais(alvo, 0, assinaturas, i * TAMANHO)) {
+                if (k == encontrados.length) {
+                    encontrados = Arrays.copyOf(encontrados, k * 2);
+                }
+                encontrados[k++] = i;
+            }
+        }
+        return Arrays.copyOf(encontrados, k);
+    }
+
+    /**
+     * Usa a implementação vetorial somente se o módulo incubado foi resolvido na inicialização
+     * da JVM; a classe vetorial é carregada por reflexão para que sua ausência nunca quebre a escalar.
+     */
+    private static SignatureKernel escolherKernel() {
+        if (Boolean.getBoolean("anagramas.assinaturas.escalar")
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return new ScalarSignatureKernel();
+        }
+        try {
+            Class<?> classe = Class.forName("com.vaiquevai.anagramas.VectorSignatureKernel");
+            if ((boolean) classe.getDeclaredMethod("suportado").invoke(null)) {
+                return (SignatureKernel) classe.getDeclaredConstructor().newInstance();
+            }
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // sem Vector API utilizável: segue com a escalar
+        }
+        return new ScalarSignatureKernel();
+    }
+
+    /** Kernel escalar, para comparações e testes. */
+    static SignatureKernel escalar() {
+        return new ScalarSignatureKernel();
+    }
+
+    /** Kernel em uso. */
+    static SignatureKernel ativo() {
+        return KERNEL;
+    }
+}
@@ -0,0 +1,89 @@
+package com.vaiquevai.anagramas;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterador na ordem de troca mínima (Steinhaus–Johnson–Trotter): começa pela permutação ordenada
+ * e cada permutação difere da anterior por uma única troca de vizinhos.
+ * <p>
+ * Em vez de procurar o maior elemento "móvel" varrendo as n posições a cada passo, mantém para
+ * cada elemento j um contador de inversões {@code c[j]} (0..j-1) e a direção {@code o[j]} em que ele
+ * anda (algoritmo P de Knuth, "plain changes"). O passo começa pelo maior elemento e só desce para o
+ * seguinte quando o atual chega ao fim do seu percurso, o que acontece uma vez a cada j passos: cada
+ * passo custa O(1) amortizado.
+ */
+public final class MinimalChangeIterator implements Iterator<AdjacentSwapPermutation> {
+
+    private final Alphabet alfabeto;
+    /** Permutação corrente de índices do alfabeto. */
+    private final int[] perm;
+    /** Inversões de cada elemento j (1..n) em relação aos menores: quantas posições ele já andou. */
+    private final int[] c;
+    /** Direção do elemento j: +1 enquanto {@code c[j]} cresce, -1 enquanto diminui. */
+    private final int[] o;
+    private final char[] buffer;
+    private int ultimaTroca = -1;
+    private boolean temProximo = true;
+
+    MinimalChangeIterator(Alphabet alfabeto) {
+        this.alfabeto = alfabeto;
+        int n = alfabeto.tamanho();
+        this.perm = new int[n];
+        this.c = new int[n + 1];
+        this.o = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            perm[i] = i;
+            o[i + 1] = 1;
+        }
+        this.buffer = new char[alfabeto.comprimentoEmChars()];
+    }
+
+    @Override
+    public boolean hasNext() {
+        return temProximo;
+    }
+
+    @Override
+    public AdjacentSwapPermutation next() {
+        if (!temProximo) {
+            throw new NoSuchElementException("Não há mais anagramas.");
+        }
+        AdjacentSwapPermutation atual = new AdjacentSwapPermutation(
+                alfabeto.montar(perm, perm.length, buffer), ultimaTroca);
+        temProximo = avancar();
+        return atual;
+    }
+
+    /**
+     * Executa um passo; retorna false quando todos os contadores chegaram ao fim.
+     * {@code s} conta os elementos maiores que já terminaram o percurso no lado esquerdo,
+     * deslocando a posição do elemento j.
+     */
+    private boolean avancar() {
+        int j = perm.length;
+        int s = 0;
+        while (true) {
+            int q = c[j] + o[j];
+            if (q < 0 || q == j) {
+                if (q == j) {
+                    if (j == 1) {
+                        return false;
+                    }
+                    s++;
+                }
+                o[j] = -o[j]; // j chegou a uma ponta: inverte e passa ao elemento menor
+                j--;
+                continue;
+            }
+            int de = j - c[j] + s - 1;
+            int para = j - q + s - 1;
+            int t = perm[de];
+            perm[de] = perm[para];
+            perm[para] = t;
+            c[j] = q;
+            ultimaTroca = Math.min(de, para);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.vaiquevai.anagramas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila circular limitada, sem travas, para vários produtores e um único consumidor (MPSC).
+ * <p>
+ * Produtores reservam uma posição com CAS no contador {@code cauda} e depois publicam o elemento
+ * na célula ({@link AtomicReferenceArray#set}, com semântica volátil). O consumidor lê a célula da
+ * {@code cabeca}: enquanto ela estiver vazia, o produtor que a reservou ainda não terminou de publicar.
+ * Ao consumir, a célula é limpa antes de a cabeça avançar, então um produtor só reaproveita células
+ * já esvaziadas.
+ *
+ * @param <T> tipo dos elementos (nunca {@code null})
+ */
+final class MpscRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> celulas;
+    private final int mascara;
+    private final AtomicLong cauda = new AtomicLong();
+    /** Escrita só pelo consumidor; lida pelos produtores para saber se há espaço. */
+    private final AtomicLong cabeca = new AtomicLong();
+
+    /**
+     * @param capacidade potência de dois, positiva
+     */
+    MpscRingBuffer(int capacidade) {
+        if (capacidade <= 0 || Integer.bitCount(capacidade) != 1) {
+            throw new IllegalArgumentException("A capacidade deve ser uma potência de dois: " + capacidade);
+        }
+        this.celulas = new AtomicReferenceArray<>(capacidade);
+        this.mascara = capacidade - 1;
+    }
+
+    /**
+     * Tenta publicar o elemento; pode ser chamado por qualquer thread.
+     *
+     * @return {@code false} se a fila estiver cheia
+     */
+    boolean oferecer(T elemento) {
+        if (elemento == null) {
+            throw new NullPointerException("elemento");
+        }
+        long posicao;
+        do {
+            posicao = cauda.get();
+            if (posicao - cabeca.get() > mascara) {
+                return false;
+            }
+        } while (!cauda.compareAndSet(posicao, posicao + 1));
+        celulas.set((int) posicao & mascara, elemento);
+        return true;
+    }
+
+    /**
+     * Retira o próximo elemento; só o consumidor pode chamar.
+     *
+     * @return o elemento, ou {@code null} se ainda não houver um publicado
+     */
+    T retirar() {
+        long posicao = cabeca.get();
+        int indice = (int) posicao & mascara;
+        T elemento = celulas.get(indice);
+        if (elemento == null) {
+            return null;
+        }
+        celulas.lazySet(indice, null);
+        cabeca.lazySet(posicao + 1);
+        return elemento;
+    }
+
+    int capacidade() {
+        return mascara + 1;
+    }
+}
@@ -0,0 +1,144 @@
+package com.vaiquevai.anagramas;
+
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Todos os anagramas de uma entrada gravados fora do heap, em um {@link MemorySegment}
+ * alocado no {@link ResourceScope} fornecido pelo chamador (Foreign Memory API, incubada no Java 17;
+ * o escopo faz o papel de "arena"). Ao fechar o escopo, toda a memória é liberada de uma vez,
+ * sem pressão sobre o coletor de lixo.
+ * <p>
+ * Cada anagrama é guardado como a permutação dos índices do alfabeto, com 4 bits por letra:
+ * 12 letras ocupam 6 bytes por resultado, cerca de 2,9 GB para as 12! permutações, contra dezenas
+ * de GB em {@code String}s no heap. O limite de {@link #MAXIMO_LETRAS} letras vem do tamanho total
+ * (13! × 7 bytes ≈ 43,6 GB); com 14 letras já seriam cerca de 610 TB.
+ * Esta classe é apenas uma visão de leitura: as {@code String}s são montadas sob demanda em {@link #get(long)}.
+ * <p>
+ * Requer {@code --add-modules jdk.incubator.foreign} na compilação e na execução.
+ */
+public final class OffHeapAnagrams implements Iterable<String> {
+
+    /** Maior entrada cujos resultados cabem em memória nativa realista: 13! × 7 bytes ≈ 43,6 GB. */
+    public static final int MAXIMO_LETRAS = 13;
+
+    private final Alphabet alfabeto;
+    private final MemorySegment segmento;
+    private final int bytesPorAnagrama;
+    private final long tamanho;
+
+    private OffHeapAnagrams(Alphabet alfabeto, MemorySegment segmento, int bytesPorAnagrama, long tamanho) {
+        this.alfabeto = alfabeto;
+        this.segmento = segmento;
+        this.bytesPorAnagrama = bytesPorAnagrama;
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * Gera todos os anagramas da entrada, em ordem lexicográfica, diretamente na memória nativa.
+     *
+     * @param entrada letras distintas, ex.: "abcdefghijkl"
+     * @param escopo  escopo dono da memória; fechá-lo libera tudo e invalida esta visão
+     * @return visão de leitura sobre os resultados
+     * @throws IllegalArgumentException se a entrada for inválida ou tiver mais de {@link #MAXIMO_LETRAS} letras
+     */
+    public static OffHeapAnagrams gravar(String entrada, ResourceScope escopo) {
+        Objects.requireNonNull(escopo, "escopo");
+        Alphabet alfabeto = Alphabet.of(entrada);
+        int n = alfabeto.tamanho();
+        if (n > MAXIMO_LETRAS) {
+            throw new IllegalArgumentException("Armazenamento fora do heap suporta até " + MAXIMO_LETRAS + " letras: " + n
+                    + " letras exigiriam " + bytesNecessarios(n) + " bytes.");
+        }
+        long total = PermutationRank.fatorial(n);
+        int bytesPorAnagrama = (n + 1) / 2;
+        MemorySegment segmento = MemorySegment.allocateNative(total * bytesPorAnagrama, escopo);
+
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+        }
+        long deslocamento = 0;
+        do {
+            for (int i = 0; i < n; i += 2) {
+                int alto = indices[i];
+                int baixo = i + 1 < n ? indices[i + 1] : 0;
+                MemoryAccess.setByteAtOffset(segmento, deslocamento++, (byte) (alto << 4 | baixo));
+            }
+        } while (AnagramIterator.proximaPermutacao(indices));
+        return new OffHeapAnagrams(alfabeto, segmento, bytesPorAnagrama, total);
+    }
+
+    /** Bytes nativos para todas as permutações de {@code n} letras; satura em {@code Long.MAX_VALUE}. */
+    static long bytesNecessarios(int n) {
+        if (n > PermutationRank.MAXIMO_LETRAS) {
+            return Long.MAX_VALUE;
+        }
+        long total = PermutationRank.fatorial(n);
+        int bytesPorAnagrama = (n + 1) / 2;
+        return total > Long.MAX_VALUE / bytesPorAnagrama ? Long.MAX_VALUE : total * bytesPorAnagrama;
+    }
+
+    /** Quantidade de anagramas (n!). */
+    public long tamanho() {
+        return tamanho;
+    }
+
+    /** Bytes nativos ocupados. */
+    public long bytesOcupados() {
+        return segmento.byteSize();
+    }
+
+    /**
+     * Monta o anagrama de posição {@code i} (ordem lexicográfica).
+     *
+     * @throws IndexOutOfBoundsException se {@code i} estiver fora de [0, tamanho)
+     * @throws IllegalStateException     se o escopo já tiver sido fechado
+     */
+    public String get(long i) {
+        Objects.checkIndex(i, tamanho);
+        int[] indices = new int[alfabeto.tamanho()];
+        lerIndices(i, indices);
+        return alfabeto.montar(indices, indices.length, new char[alfabeto.comprimentoEmChars()]);
+    }
+
+    /** Itera sobre todos os anagramas reutilizando os buffers entre os elementos. */
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private final int[] indices = new int[alfabeto.tamanho()];
+            private final char[] buffer = new char[alfabeto.comprimentoEmChars()];
+            private long proximo;
+
+            @Override
+            public boolean hasNext() {
+                return proximo < tamanho;
+            }
+
+            @Override
+            public String next() {
+                if (proximo >= tamanho) {
+                    throw new NoSuchElementException("Não há mais anagramas.");
+                }
+                lerIndices(proximo++, indices);
+                return alfabeto.montar(indices, indices.length, buffer);
+            }
+        };
+    }
+
+    private void lerIndices(long i, int[] destino) {
+        long deslocamento = i * bytesPorAnagrama;
+        for (int k = 0; k < destino.length; k += 2) {
+            int par = MemoryAccess.getByteAtOffset(segmento, deslocamento++) & 0xFF;
+            destino[k] = par >>> 4;
+            if (k + 1 < destino.length) {
+                destino[k + 1] = par & 0x0F;
+            }
+        }
+    }
+}
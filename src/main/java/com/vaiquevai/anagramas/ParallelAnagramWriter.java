@@ -0,0 +1,252 @@
+package com.vaiquevai.anagramas;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Grava todos os anagramas em ordem lexicográfica usando todos os núcleos na geração.
+ * <p>
+ * A enumeração é dividida em blocos por prefixo: cada bloco é o intervalo de ranks de um prefixo de
+ * {@code p} letras, com no máximo {@link #MAXIMO_LINHAS_POR_BLOCO} resultados. Trabalhadores pegam
+ * o próximo bloco de um contador atômico, codificam suas linhas em um {@code byte[]} e o entregam,
+ * por um {@link MpscRingBuffer} sem travas, a uma única thread escritora. Ela guarda os blocos que
+ * chegam adiantados e os grava na ordem dos prefixos, então a saída é idêntica à sequencial.
+ * <p>
+ * Um trabalhador só começa o bloco {@code k} quando {@code k} está a menos de uma janela (a
+ * capacidade da fila) do próximo bloco a gravar; assim a memória fica limitada a essa janela de blocos.
+ */
+final class ParallelAnagramWriter {
+
+    /** 8! linhas: blocos de algumas centenas de KB, pequenos para equilibrar e grandes para amortizar a entrega. */
+    static final long MAXIMO_LINHAS_POR_BLOCO = 40_320;
+
+    /** Blocos por trabalhador, no mínimo, para equilibrar a carga. */
+    private static final int BLOCOS_POR_TRABALHADOR = 4;
+
+    private static final long ESPERA_NANOS = 50_000;
+
+    private ParallelAnagramWriter() {
+        // Classe utilitária: construtor privado para evitar instanciação
+    }
+
+    /** Resultado codificado de um bloco. */
+    private record Bloco(long indice, byte[] dados, int tamanho) {
+    }
+
+    /**
+     * Gera e grava os anagramas, um por linha.
+     *
+     * @param entrada      letras distintas (até {@link PermutationRank#MAXIMO_LETRAS})
+     * @param destino      onde gravar (não é fechado)
+     * @param charset      codificação das linhas
+     * @param trabalhadores threads de geração (positivo)
+     * @return quantidade de anagramas gravados
+     * @throws IllegalArgumentException se a entrada for inválida ou longa demais
+     */
+    static long gravar(String entrada, OutputStream destino, Charset charset, int trabalhadores) throws IOException {
+        if (trabalhadores <= 0) {
+            throw new IllegalArgumentException("A quantidade de trabalhadores deve ser positiva: " + trabalhadores);
+        }
+        Alphabet alfabeto = Alphabet.of(entrada);
+        int n = alfabeto.tamanho();
+        long total = PermutationRank.fatorial(n);
+        int prefixo = tamanhoPrefixo(n, trabalhadores);
+        long linhasPorBloco = PermutationRank.fatorial(n - prefixo);
+        long blocos = total / linhasPorBloco;
+
+        MpscRingBuffer<Bloco> fila = new MpscRingBuffer<>(Integer.highestOneBit(4 * trabalhadores) << 1);
+        int janela = fila.capacidade();
+        AtomicLong proximoBloco = new AtomicLong();
+        AtomicLong gravados = new AtomicLong(); // blocos já gravados: controla a janela dos trabalhadores
+        Falha falha = new Falha();
+        Thread escritora = Thread.currentThread();
+
+        ExecutorService pool = Executors.newFixedThreadPool(trabalhadores, r -> {
+            Thread t = new Thread(r, "anagramas-paralelo");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            for (int t = 0; t < trabalhadores; t++) {
+                pool.execute(() -> {
+                    try {
+                        Codificador codificador = new Codificador(alfabeto, charset);
+                        long k;
+                        while (falha.causa == null && (k = proximoBloco.getAndIncrement()) < blocos) {
+                            while (k - gravados.get() >= janela && falha.causa == null) {
+                                LockSupport.parkNanos(ESPERA_NANOS);
+                            }
+                            Bloco bloco = codificador.gerar(k, k * linhasPorBloco, linhasPorBloco);
+                            while (!fila.oferecer(bloco) && falha.causa == null) {
+                                Thread.onSpinWait();
+                            }
+                            LockSupport.unpark(escritora);
+                        }
+                    } catch (RuntimeException | Error e) {
+                        falha.registrar(e);
+                        LockSupport.unpark(escritora);
+                    }
+                });
+            }
+
+            Bloco[] pendentes = new Bloco[janela];
+            for (long proximo = 0; proximo < blocos; ) {
+                Bloco bloco = fila.retirar();
+                if (bloco == null) {
+                    if (falha.causa != null) {
+                        throw new IllegalStateException("Falha ao gerar um bloco em paralelo.", falha.causa);
+                    }
+                    LockSupport.parkNanos(ESPERA_NANOS);
+                    continue;
+                }
+                pendentes[(int) (bloco.indice() % janela)] = bloco;
+                Bloco pronto;
+                while (proximo < blocos && (pronto = pendentes[(int) (proximo % janela)]) != null
+                        && pronto.indice() == proximo) {
+                    pendentes[(int) (proximo % janela)] = null;
+                    destino.write(pronto.dados(), 0, pronto.tamanho());
+                    gravados.lazySet(++proximo);
+                }
+            }
+            destino.flush();
+            return total;
+        } catch (IOException | RuntimeException | Error e) {
+            falha.registrar(e); // faz os trabalhadores desistirem
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Menor prefixo que dá blocos suficientes para os trabalhadores e de no máximo
+     * {@link #MAXIMO_LINHAS_POR_BLOCO} linhas.
+     */
+    static int tamanhoPrefixo(int n, int trabalhadores) {
+        int prefixo = 0;
+        long blocos = 1;
+        while (prefixo < n && (blocos < (long) BLOCOS_POR_TRABALHADOR * trabalhadores
+                || PermutationRank.fatorial(n - prefixo) > MAXIMO_LINHAS_POR_BLOCO)) {
+            blocos *= n - prefixo;
+            prefixo++;
+        }
+        return prefixo;
+    }
+
+    /** Primeira falha de qualquer thread; as demais param ao vê-la. */
+    private static final class Falha {
+        volatile Throwable causa;
+
+        synchronized void registrar(Throwable t) {
+            if (causa == null) {
+                causa = t;
+            }
+        }
+    }
+
+    /**
+     * Estado de um trabalhador: permuta índices e escreve as letras direto no buffer do bloco, sem uma
+     * {@code String} por linha. Em charsets sem estado (UTF-8, Latin-1...), cada letra tem bytes fixos e o
+     * bloco é montado copiando bytes; nos demais, as linhas passam por um {@link CharsetEncoder}.
+     */
+    private static final class Codificador {
+        private final int[] indices;
+        private final char[][] letras;
+        private final char[] separador;
+        /** Bytes de cada letra e do separador, ou {@code null} se o charset não permitir concatená-los. */
+        private final byte[][] letrasEmBytes;
+        private final byte[] separadorEmBytes;
+        private final int bytesPorLinha;
+        private final int charsPorLinha;
+        private final CharsetEncoder encoder;
+        /** Bytes que o encoder emite só no início do fluxo (a BOM do UTF-16), omitidos após o primeiro bloco. */
+        private final int abertura;
+
+        Codificador(Alphabet alfabeto, Charset charset) {
+            int n = alfabeto.tamanho();
+            this.indices = new int[n];
+            this.letras = new char[n][];
+            this.separador = System.lineSeparator().toCharArray();
+            this.charsPorLinha = alfabeto.comprimentoEmChars() + separador.length;
+            // mesmo comportamento do OutputStreamWriter da saída sequencial: letra sem representação vira '?'
+            this.encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+            byte[][] emBytes = new byte[n][];
+            StringBuilder tudo = new StringBuilder();
+            int somaBytes = 0;
+            for (int i = 0; i < n; i++) {
+                letras[i] = Character.toChars(alfabeto.codePoint(i));
+                emBytes[i] = new String(letras[i]).getBytes(charset);
+                somaBytes += emBytes[i].length;
+                tudo.append(letras[i]);
+            }
+            byte[] sep = new String(separador).getBytes(charset);
+            tudo.append(separador);
+            // Concatenar bytes só é correto se codificar tudo junto der o mesmo resultado (sem BOM nem estado).
+            boolean concatenavel = tudo.toString().getBytes(charset).length == somaBytes + sep.length;
+            this.letrasEmBytes = concatenavel ? emBytes : null;
+            this.separadorEmBytes = sep;
+            this.bytesPorLinha = somaBytes + sep.length;
+            String letra = new String(letras[0]);
+            this.abertura = 2 * emBytes[0].length - (letra + letra).getBytes(charset).length;
+        }
+
+        Bloco gerar(long indice, long rankInicial, long quantidade) {
+            PermutationRank.desranquear(rankInicial, indices.length, indices);
+            return letrasEmBytes != null ? gerarBytes(indice, quantidade) : gerarCodificando(indice, quantidade);
+        }
+
+        private Bloco gerarBytes(long indice, long quantidade) {
+            byte[] dados = new byte[(int) (quantidade * bytesPorLinha)];
+            int pos = 0;
+            for (long linha = 0; linha < quantidade; linha++) {
+                for (int i : indices) {
+                    byte[] letra = letrasEmBytes[i];
+                    if (letra.length == 1) {
+                        dados[pos++] = letra[0];
+                    } else {
+                        System.arraycopy(letra, 0, dados, pos, letra.length);
+                        pos += letra.length;
+                    }
+                }
+                System.arraycopy(separadorEmBytes, 0, dados, pos, separadorEmBytes.length);
+                pos += separadorEmBytes.length;
+                AnagramIterator.proximaPermutacao(indices);
+            }
+            return new Bloco(indice, dados, pos);
+        }
+
+        private Bloco gerarCodificando(long indice, long quantidade) {
+            CharBuffer texto = CharBuffer.allocate((int) (quantidade * charsPorLinha));
+            for (long linha = 0; linha < quantidade; linha++) {
+                for (int i : indices) {
+                    texto.put(letras[i]);
+                }
+                texto.put(separador);
+                AnagramIterator.proximaPermutacao(indices);
+            }
+            texto.flip();
+            ByteBuffer bytes = ByteBuffer.allocate((int) Math.ceil(texto.remaining() * (double) encoder.maxBytesPerChar()) + 16);
+            encoder.reset();
+            encoder.encode(texto, bytes, true);
+            encoder.flush(bytes);
+            if (indice == 0 || abertura <= 0) {
+                return new Bloco(indice, bytes.array(), bytes.position());
+            }
+            byte[] dados = Arrays.copyOfRange(bytes.array(), abertura, bytes.position());
+            return new Bloco(indice, dados, dados.length);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.vaiquevai.anagramas;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Todos os anagramas de uma entrada representados como um grafo acíclico (DAG) sobre o
+ * reticulado de subconjuntos: um nó por conjunto de letras já usadas (2^n nós) e uma aresta
+ * para cada letra que pode vir em seguida. Cada anagrama é um caminho do conjunto vazio ao
+ * conjunto cheio, então n! resultados cabem em 2^n máscaras de arestas.
+ * <p>
+ * Cada nó guarda também quantos caminhos partem dele; com isso contagem, pertinência, rank e
+ * desranqueamento em ordem lexicográfica custam O(n) passos, sem enumerar nada. Restrições
+ * posicionais ({@link AnagramConstraints} sem adjacências) só removem arestas: a posição de
+ * uma letra é o tamanho do subconjunto de onde a aresta sai. Adjacências dependeriam da última
+ * letra, o que multiplicaria os nós por n, e não são aceitas.
+ * <p>
+ * {@link #salvar(OutputStream)} grava só o alfabeto e as máscaras, comprimidas com deflate;
+ * as contagens são recalculadas ao carregar. "Todos os anagramas de 16 letras" ocupam poucos kilobytes.
+ */
+public final class PermutationDag implements Iterable<String> {
+
+    /** 2^20 nós: 12 MB entre máscaras e contagens. */
+    public static final int MAXIMO_LETRAS = 20;
+
+    private static final byte[] MAGICO = {'A', 'N', 'D', 'G'};
+    private static final int VERSAO = 1;
+
+    private final Alphabet alfabeto;
+    private final int n;
+    /** Para cada subconjunto, as letras que podem ser usadas a seguir levando a um anagrama completo. */
+    private final int[] arestas;
+    /** Para cada subconjunto, quantos anagramas o completam. */
+    private final long[] caminhos;
+
+    private PermutationDag(Alphabet alfabeto, int[] arestas) {
+        this.alfabeto = alfabeto;
+        this.n = alfabeto.tamanho();
+        this.arestas = arestas;
+        this.caminhos = new long[arestas.length];
+        podarEContar();
+    }
+
+    /**
+     * Constrói o DAG de todos os anagramas da entrada.
+     *
+     * @throws IllegalArgumentException se a entrada for inválida ou tiver mais de {@link #MAXIMO_LETRAS} letras
+     */
+    public static PermutationDag construir(String entrada) {
+        return construir(entrada, AnagramConstraints.nenhuma());
+    }
+
+    /**
+     * Constrói o DAG dos anagramas que respeitam restrições posicionais.
+     *
+     * @throws IllegalArgumentException se a entrada for inválida, longa demais ou as restrições tiverem adjacências
+     */
+    public static PermutationDag construir(String entrada, AnagramConstraints restricoes) {
+        Objects.requireNonNull(restricoes, "restricoes");
+        Alphabet alfabeto = Alphabet.of(entrada);
+        int n = alfabeto.tamanho();
+        exigirTamanho(n);
+        CompiledConstraints compiladas = restricoes.isVazia() ? null : restricoes.compilar(alfabeto);
+        if (compiladas != null && compiladas.temAdjacencia()) {
+            throw new IllegalArgumentException("O DAG de subconjuntos não representa adjacências proibidas.");
+        }
+        int cheio = (1 << n) - 1;
+        int[] arestas = new int[1 << n];
+        for (int s = 0; s < cheio; s++) {
+            int livres = ~s & cheio;
+            arestas[s] = compiladas == null ? livres : livres & (int) compiladas.permitidosEm(Integer.bitCount(s));
+        }
+        return new PermutationDag(alfabeto, arestas);
+    }
+
+    private static void exigirTamanho(int n) {
+        if (n > MAXIMO_LETRAS) {
+            throw new IllegalArgumentException("O DAG de permutações suporta até " + MAXIMO_LETRAS + " letras: " + n);
+        }
+    }
+
+    /** Do conjunto cheio para o vazio: conta caminhos e remove arestas que levam a becos sem saída. */
+    private void podarEContar() {
+        int cheio = arestas.length - 1;
+        caminhos[cheio] = 1;
+        arestas[cheio] = 0;
+        for (int s = cheio - 1; s >= 0; s--) {
+            int validas = 0;
+            long total = 0;
+            for (int candidatas = arestas[s]; candidatas != 0; candidatas &= candidatas - 1) {
+                int i = Integer.numberOfTrailingZeros(candidatas);
+                long c = caminhos[s | (1 << i)];
+                if (c != 0) {
+                    validas |= 1 << i;
+                    total += c;
+                }
+            }
+            arestas[s] = validas;
+            caminhos[s] = total;
+        }
+    }
+
+    /** Quantidade de anagramas representados. */
+    public long contar() {
+        return caminhos[0];
+    }
+
+    /** Quantidade de letras (n). */
+    public int tamanho() {
+        return n;
+    }
+
+    /** Nós que fazem parte de ao menos um anagrama (alcançáveis a partir do conjunto vazio). */
+    public int nosAlcancaveis() {
+        if (contar() == 0) {
+            return 0;
+        }
+        boolean[] alcancados = new boolean[arestas.length];
+        alcancados[0] = true;
+        int total = 0;
+        for (int s = 0; s < arestas.length; s++) { // arestas só levam a subconjuntos maiores
+            if (!alcancados[s]) {
+                continue;
+            }
+            total++;
+            for (int saidas = arestas[s]; saidas != 0; saidas &= saidas - 1) {
+                alcancados[s | Integer.lowestOneBit(saidas)] = true;
+            }
+        }
+        return total;
+    }
+
+    /** @return {@code true} se {@code texto} é um dos anagramas representados */
+    public boolean contem(String texto) {
+        return percorrer(texto, false) >= 0;
+    }
+
+    /**
+     * Posição do anagrama na ordem lexicográfica dos anagramas representados.
+     *
+     * @throws IllegalArgumentException se {@code texto} não estiver no DAG
+     */
+    public long rank(String texto) {
+        long rank = percorrer(texto, true);
+        if (rank < 0) {
+            throw new IllegalArgumentException("Não é um anagrama representado: " + texto);
+        }
+        return rank;
+    }
+
+    /** Segue as arestas do texto; devolve o rank (ou 0 se não pedido), ou -1 se o caminho não existir. */
+    private long percorrer(String texto, boolean calcularRank) {
+        if (texto == null) {
+            return -1;
+        }
+        int s = 0;
+        long rank = 0;
+        int profundidade = 0;
+        for (int pos = 0; pos < texto.length(); profundidade++) {
+            int cp = texto.codePointAt(pos);
+            pos += Character.charCount(cp);
+            int i = alfabeto.indice(cp);
+            if (i < 0 || profundidade >= n || (arestas[s] & (1 << i)) == 0) {
+                return -1;
+            }
+            if (calcularRank) {
+                for (int menores = arestas[s] & ((1 << i) - 1); menores != 0; menores &= menores - 1) {
+                    rank += caminhos[s | Integer.lowestOneBit(menores)];
+                }
+            }
+            s |= 1 << i;
+        }
+        return profundidade == n ? rank : -1;
+    }
+
+    /**
+     * Anagrama de posição {@code rank}, descendo pelas contagens dos nós.
+     *
+     * @throws IllegalArgumentException se o rank estiver fora de [0, {@link #contar()})
+     */
+    public String desranquear(long rank) {
+        if (rank < 0 || rank >= contar()) {
+            throw new IllegalArgumentException("Rank fora do intervalo [0, " + contar() + "): " + rank);
+        }
+        int[] indices = new int[n];
+        int s = 0;
+        for (int pos = 0; pos < n; pos++) {
+            for (int candidatas = arestas[s]; ; candidatas &= candidatas - 1) {
+                int i = Integer.numberOfTrailingZeros(candidatas);
+                long c = caminhos[s | (1 << i)];
+                if (rank < c) {
+                    indices[pos] = i;
+                    s |= 1 << i;
+                    break;
+                }
+                rank -= c;
+            }
+        }
+        return alfabeto.montar(indices, n, new char[alfabeto.comprimentoEmChars()]);
+    }
+
+    /** Enumera os anagramas em ordem lexicográfica, em profundidade pelas arestas, com memória O(n). */
+    @Override
+    public Iterator<String> iterator() {
+        return new Percurso();
+    }
+
+    private final class Percurso implements Iterator<String> {
+        private final int[] indices = new int[n];
+        /** Arestas ainda não seguidas em cada profundidade. */
+        private final int[] pendentes = new int[n + 1];
+        private final char[] buffer = new char[alfabeto.comprimentoEmChars()];
+        private boolean temProximo;
+
+        Percurso() {
+            temProximo = contar() > 0;
+            if (temProximo) {
+                pendentes[0] = arestas[0];
+                descer(0, 0);
+            }
+        }
+
+        /** Segue sempre a menor aresta pendente a partir de {@code profundidade} até o conjunto cheio. */
+        private void descer(int profundidade, int s) {
+            for (int pos = profundidade; pos < n; pos++) {
+                int i = Integer.numberOfTrailingZeros(pendentes[pos]);
+                pendentes[pos] &= pendentes[pos] - 1;
+                indices[pos] = i;
+                s |= 1 << i;
+                pendentes[pos + 1] = arestas[s];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return temProximo;
+        }
+
+        @Override
+        public String next() {
+            if (!temProximo) {
+                throw new NoSuchElementException("Não há mais anagramas.");
+            }
+            String anagrama = alfabeto.montar(indices, n, buffer);
+            avancar();
+            return anagrama;
+        }
+
+        private void avancar() {
+            int s = (1 << n) - 1;
+            for (int pos = n - 1; pos >= 0; pos--) {
+                s &= ~(1 << indices[pos]);
+                if (pendentes[pos] != 0) {
+                    descer(pos, s);
+                    return;
+                }
+            }
+            temProximo = false;
+        }
+    }
+
+    /**
+     * Grava o DAG: cabeçalho, alfabeto e, por nó, as arestas removidas em relação ao DAG sem restrições
+     * (deflate). Sem restrições é tudo zero, e o corpo encolhe a quase nada.
+     * Não fecha {@code destino}.
+     */
+    public void salvar(OutputStream destino) throws IOException {
+        DataOutputStream cabecalho = new DataOutputStream(destino);
+        cabecalho.write(MAGICO);
+        cabecalho.writeByte(VERSAO);
+        int cheio = (1 << n) - 1;
+        int[] letras = new int[n];
+        for (int i = 0; i < n; i++) {
+            letras[i] = alfabeto.codePoint(i);
+        }
+        cabecalho.writeUTF(new String(letras, 0, n));
+        cabecalho.flush();
+        DeflaterOutputStream comprimido = new DeflaterOutputStream(destino, new Deflater(Deflater.BEST_COMPRESSION));
+        DataOutputStream corpo = new DataOutputStream(comprimido);
+        for (int s = 0; s < arestas.length; s++) {
+            corpo.writeInt(arestas[s] ^ (~s & cheio)); // arestas removidas: quase sempre zero, comprime bem
+        }
+        corpo.flush();
+        comprimido.finish();
+    }
+
+    /**
+     * Lê um DAG gravado com {@link #salvar(OutputStream)} e recalcula as contagens.
+     *
+     * @throws IllegalArgumentException se o conteúdo não for um DAG válido
+     */
+    public static PermutationDag carregar(InputStream origem) throws IOException {
+        DataInputStream cabecalho = new DataInputStream(origem);
+        byte[] magico = cabecalho.readNBytes(MAGICO.length);
+        if (!Arrays.equals(magico, MAGICO)) {
+            throw new IllegalArgumentException("O conteúdo não é um DAG de permutações.");
+        }
+        int versao = cabecalho.readUnsignedByte();
+        if (versao != VERSAO) {
+            throw new IllegalArgumentException("Versão de DAG não suportada: " + versao);
+        }
+        Alphabet alfabeto = Alphabet.of(cabecalho.readUTF());
+        int n = alfabeto.tamanho();
+        exigirTamanho(n);
+        int cheio = (1 << n) - 1;
+        int[] arestas = new int[1 << n];
+        DataInputStream corpo = new DataInputStream(new InflaterInputStream(origem));
+        for (int s = 0; s < arestas.length; s++) {
+            arestas[s] = corpo.readInt() ^ (~s & cheio);
+            if ((arestas[s] & (s | ~cheio)) != 0) {
+                throw new IllegalArgumentException("DAG corrompido: aresta inválida no nó " + s);
+            }
+        }
+        return new PermutationDag(alfabeto, arestas);
+    }
+}
@@ -0,0 +1,89 @@
+package com.vaiquevai.anagramas;
+
+/**
+ * Ranqueamento de permutações na ordem lexicográfica (sistema de numeração fatorial / código de Lehmer).
+ * O rank de uma permutação é sua posição (a partir de 0) na lista de {@link AnagramGenerator#gerarAnagramas(String)};
+ * com ele é possível saltar direto para qualquer ponto da enumeração sem gerar o que vem antes.
+ * Limitado a {@link #MAXIMO_LETRAS} letras, pois 21! não cabe em {@code long}.
+ */
+final class PermutationRank {
+
+    /** Maior n cujo n! cabe em {@code long}. */
+    static final int MAXIMO_LETRAS = 20;
+
+    private static final long[] FATORIAIS = new long[MAXIMO_LETRAS + 1];
+
+    static {
+        FATORIAIS[0] = 1;
+        for (int i = 1; i <= MAXIMO_LETRAS; i++) {
+            FATORIAIS[i] = FATORIAIS[i - 1] * i;
+        }
+    }
+
+    private PermutationRank() {
+        // Classe utilitária: construtor privado para evitar instanciação
+    }
+
+    /**
+     * @throws IllegalArgumentException se n! não couber em {@code long}
+     */
+    static long fatorial(int n) {
+        exigirRanqueavel(n);
+        return FATORIAIS[n];
+    }
+
+    static void exigirRanqueavel(int n) {
+        if (n > MAXIMO_LETRAS) {
+            throw new IllegalArgumentException("Entrada muito longa para ranqueamento: " + n
+                    + " letras (máximo " + MAXIMO_LETRAS + ").");
+        }
+    }
+
+    /**
+     * Escreve em {@code destino} a permutação de índices {@code 0..n-1} de posição {@code rank}.
+     * Cada dígito fatorial escolhe o k-ésimo índice ainda livre (O(n²), n ≤ 20).
+     */
+    static void desranquear(long rank, int n, int[] destino) {
+        long total = fatorial(n);
+        if (rank < 0 || rank >= total) {
+            throw new IllegalArgumentException("Rank fora do intervalo [0, " + total + "): " + rank);
+        }
+        int usados = 0; // bitset dos índices já escolhidos
+        for (int pos = 0; pos < n; pos++) {
+            long bloco = FATORIAIS[n - 1 - pos];
+            int k = (int) (rank / bloco);
+            rank %= bloco;
+            int indice = -1;
+            while (k >= 0) {
+                indice++;
+                if ((usados & (1 << indice)) == 0) {
+                    k--;
+                }
+            }
+            usados |= 1 << indice;
+            destino[pos] = indice;
+        }
+    }
+
+    /** Inverso de {@link #desranquear}: posição lexicográfica da permutação de índices. */
+    static long ranquear(int[] perm, int n) {
+        exigirRanqueavel(n);
+        long rank = 0;
+        int usados = 0;
+        for (int pos = 0; pos < n; pos++) {
+            int menoresLivres = perm[pos] - Integer.bitCount(usados & ((1 << perm[pos]) - 1));
+            rank += menoresLivres * FATORIAIS[n - 1 - pos];
+            usados |= 1 << perm[pos];
+        }
+        return rank;
+    }
+
+    /**
+     * Início do fragmento {@code indice} ao dividir {@code total} ranks em {@code fragmentos}
+     * intervalos contíguos; os primeiros {@code total % fragmentos} recebem um elemento a mais.
+     * Calculado sem multiplicar {@code indice * total}, que estouraria para n próximo de 20.
+     */
+    static long inicioFragmento(long total, int indice, int fragmentos) {
+        return (total / fragmentos) * indice + Math.min(indice, total % fragmentos);
+    }
+}
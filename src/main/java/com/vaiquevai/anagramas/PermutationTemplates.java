@@ -0,0 +1,82 @@
+package com.vaiquevai.anagramas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Modelos de permutação por tamanho: todas as entradas de n letras distintas, depois de ordenadas,
+ * produzem exatamente a mesma sequência de permutações de índices {@code 0..n-1}; só o alfabeto muda.
+ * <p>
+ * O modelo de cada n é calculado uma única vez, guardado como um {@code byte[]} compacto com
+ * n! × n índices em ordem lexicográfica, e compartilhado entre alfabetos e threads: "abcdefgh" e
+ * "qrstuvwx" apenas traduzem o mesmo modelo, sem repetir a busca.
+ * Limitado a {@link #MAXIMO_LETRAS} letras (9! × 9 ≈ 3,3 MB); acima disso o modelo custaria mais memória
+ * do que economiza e os chamadores voltam à geração direta.
+ */
+final class PermutationTemplates {
+
+    /** Maior n com modelo em cache. */
+    static final int MAXIMO_LETRAS = 9;
+
+    private static final AtomicReferenceArray<byte[]> MODELOS = new AtomicReferenceArray<>(MAXIMO_LETRAS + 1);
+
+    private PermutationTemplates() {
+        // Classe utilitária: construtor privado para evitar instanciação
+    }
+
+    /** @return {@code true} se há modelo para entradas de {@code n} letras */
+    static boolean suporta(int n) {
+        return n <= MAXIMO_LETRAS;
+    }
+
+    /**
+     * Modelo de n letras: a permutação de rank r ocupa as posições {@code [r * n, (r + 1) * n)}.
+     * O array é compartilhado e não deve ser alterado.
+     *
+     * @throws IllegalArgumentException se n passar de {@link #MAXIMO_LETRAS}
+     */
+    static byte[] modelo(int n) {
+        if (!suporta(n)) {
+            throw new IllegalArgumentException("Modelos de permutação vão até " + MAXIMO_LETRAS + " letras: " + n);
+        }
+        byte[] modelo = MODELOS.get(n);
+        if (modelo == null) {
+            // corrida benigna: quem perder descarta a própria cópia e usa a publicada
+            MODELOS.compareAndSet(n, null, calcular(n));
+            modelo = MODELOS.get(n);
+        }
+        return modelo;
+    }
+
+    private static byte[] calcular(int n) {
+        byte[] modelo = new byte[Math.toIntExact(PermutationRank.fatorial(n) * n)];
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+        }
+        int pos = 0;
+        do {
+            for (int indice : indices) {
+                modelo[pos++] = (byte) indice;
+            }
+        } while (AnagramIterator.proximaPermutacao(indices));
+        return modelo;
+    }
+
+    /**
+     * Todos os anagramas do alfabeto, traduzindo o modelo do seu tamanho.
+     *
+     * @throws IllegalArgumentException se o alfabeto passar de {@link #MAXIMO_LETRAS} letras
+     */
+    static List<String> montarTodos(Alphabet alfabeto) {
+        int n = alfabeto.tamanho();
+        byte[] modelo = modelo(n);
+        char[] buffer = new char[alfabeto.comprimentoEmChars()];
+        List<String> resultado = new ArrayList<>(modelo.length / n);
+        for (int inicio = 0; inicio < modelo.length; inicio += n) {
+            resultado.add(alfabeto.montar(modelo, inicio, n, buffer));
+        }
+        return resultado;
+    }
+}
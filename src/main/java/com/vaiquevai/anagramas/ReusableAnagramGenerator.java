@@ -0,0 +1,195 @@
+package com.vaiquevai.anagramas;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Gerador com estado, para serviços de alta vazão: cada instância é dona dos buffers de validação
+ * e de busca, dimensionados uma vez para {@code maximoLetras}, e os reaproveita a cada chamada.
+ * Em regime, uma chamada só aloca a saída (as strings e, se pedido, a lista).
+ * <p>
+ * Produz exatamente o mesmo que {@link AnagramGenerator#gerarAnagramas(String)}, com as mesmas
+ * mensagens de validação. Até {@link PermutationTemplates#MAXIMO_LETRAS} letras traduz o modelo
+ * compartilhado do tamanho; acima disso faz o backtracking sobre os buffers da instância.
+ * <p>
+ * Instâncias <b>não</b> são thread-safe: devem ficar confinadas a uma thread.
+ * {@link #daThread()} entrega uma instância por thread, criada na primeira utilização.
+ */
+public final class ReusableAnagramGenerator {
+
+    /** Capacidade das instâncias de {@link #daThread()}: 20! já não cabe em um {@code long}. */
+    public static final int MAXIMO_PADRAO = PermutationRank.MAXIMO_LETRAS;
+
+    private static final ThreadLocal<ReusableAnagramGenerator> DA_THREAD =
+            ThreadLocal.withInitial(() -> new ReusableAnagramGenerator(MAXIMO_PADRAO));
+
+    private final int maximoLetras;
+    /** Letras da entrada atual, ordenadas nas {@code n} primeiras posições. */
+    private final int[] codePoints;
+    private final boolean[] usados;
+    private final int[] atual;
+    /** Dois {@code char}s por letra cobrem letras fora do BMP. */
+    private final char[] buffer;
+    /** Bitset de 256 bits do caminho rápido Latin-1. */
+    private final long[] vistos = new long[4];
+
+    private int n;
+    private boolean bmp;
+
+    /**
+     * @param maximoLetras maior entrada que a instância aceita (positivo)
+     */
+    public ReusableAnagramGenerator(int maximoLetras) {
+        if (maximoLetras <= 0) {
+            throw new IllegalArgumentException("O máximo de letras deve ser positivo: " + maximoLetras);
+        }
+        this.maximoLetras = maximoLetras;
+        this.codePoints = new int[maximoLetras];
+        this.usados = new boolean[maximoLetras];
+        this.atual = new int[maximoLetras];
+        this.buffer = new char[2 * maximoLetras];
+    }
+
+    /** Instância confinada à thread atual, com capacidade {@link #MAXIMO_PADRAO}. */
+    public static ReusableAnagramGenerator daThread() {
+        return DA_THREAD.get();
+    }
+
+    public int maximoLetras() {
+        return maximoLetras;
+    }
+
+    /**
+     * Gera todos os anagramas em uma lista nova, já dimensionada.
+     *
+     * @param entrada letras distintas, ex.: "abc"
+     * @return lista com as permutações em ordem lexicográfica
+     * @throws IllegalArgumentException se a entrada for inválida ou tiver mais de {@link #maximoLetras()} letras
+     */
+    public List<String> gerarAnagramas(String entrada) {
+        carregar(entrada);
+        long total = n <= PermutationRank.MAXIMO_LETRAS ? PermutationRank.fatorial(n) : Long.MAX_VALUE;
+        List<String> resultado = new ArrayList<>((int) Math.min(total, 1 << 20));
+        gerar(resultado);
+        return resultado;
+    }
+
+    /**
+     * Gera todos os anagramas, acrescentando-os a {@code destino} (que pode ser reaproveitado pelo chamador).
+     *
+     * @throws IllegalArgumentException se a entrada for inválida ou tiver mais de {@link #maximoLetras()} letras
+     */
+    public void gerarAnagramas(String entrada, Collection<? super String> destino) {
+        carregar(entrada);
+        gerar(destino);
+    }
+
+    /** Validação com as mesmas regras e mensagens de {@link Alphabet#of(String)}, sem alocar. */
+    private void carregar(String entrada) {
+        if (entrada == null) {
+            throw Alphabet.nula();
+        }
+        int inicio = 0;
+        int fim = entrada.length();
+        while (inicio < fim && entrada.charAt(inicio) <= ' ') {
+            inicio++;
+        }
+        while (fim > inicio && entrada.charAt(fim - 1) <= ' ') {
+            fim--;
+        }
+        if (inicio == fim) {
+            throw Alphabet.vazia();
+        }
+        n = 0;
+        bmp = true;
+        boolean latin1 = true;
+        for (int i = inicio; i < fim; ) {
+            int cp = entrada.codePointAt(i);
+            i += Character.charCount(cp);
+            if (!Character.isLetter(cp)) {
+                throw Alphabet.naoLetra(cp);
+            }
+            if (n == maximoLetras) {
+                throw new IllegalArgumentException("A entrada passa do máximo de " + maximoLetras
+                        + " letras desta instância.");
+            }
+            codePoints[n++] = cp;
+            latin1 &= cp < 256;
+            bmp &= Character.isBmpCodePoint(cp);
+        }
+        if (latin1) {
+            ordenarLatin1();
+        } else {
+            Arrays.sort(codePoints, 0, n);
+            for (int i = 1; i < n; i++) {
+                if (codePoints[i] == codePoints[i - 1]) {
+                    throw Alphabet.repetida(codePoints[i]);
+                }
+            }
+        }
+    }
+
+    private void ordenarLatin1() {
+        Arrays.fill(vistos, 0);
+        for (int i = 0; i < n; i++) {
+            int cp = codePoints[i];
+            long bit = 1L << cp;
+            if ((vistos[cp >>> 6] & bit) != 0) {
+                throw Alphabet.repetida(cp);
+            }
+            vistos[cp >>> 6] |= bit;
+        }
+        int k = 0;
+        for (int palavra = 0; palavra < vistos.length; palavra++) {
+            for (long bits = vistos[palavra]; bits != 0; bits &= bits - 1) {
+                codePoints[k++] = (palavra << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+    }
+
+    private void gerar(Collection<? super String> destino) {
+        if (PermutationTemplates.suporta(n)) {
+            byte[] modelo = PermutationTemplates.modelo(n);
+            for (int inicio = 0; inicio < modelo.length; inicio += n) {
+                for (int i = 0; i < n; i++) {
+                    atual[i] = modelo[inicio + i];
+                }
+                destino.add(montar());
+            }
+            return;
+        }
+        Arrays.fill(usados, 0, n, false);
+        backtrack(0, destino);
+    }
+
+    private void backtrack(int profundidade, Collection<? super String> destino) {
+        if (profundidade == n) {
+            destino.add(montar());
+            return;
+        }
+        for (int i = 0; i < n; i++) {
+            if (!usados[i]) {
+                usados[i] = true;
+                atual[profundidade] = i;
+                backtrack(profundidade + 1, destino);
+                usados[i] = false;
+            }
+        }
+    }
+
+    private String montar() {
+        if (bmp) {
+            for (int i = 0; i < n; i++) {
+                buffer[i] = (char) codePoints[atual[i]];
+            }
+            return new String(buffer, 0, n);
+        }
+        int pos = 0;
+        for (int i = 0; i < n; i++) {
+            pos += Character.toChars(codePoints[atual[i]], buffer, pos);
+        }
+        return new String(buffer, 0, pos);
+    }
+}
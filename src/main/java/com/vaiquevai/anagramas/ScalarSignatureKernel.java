@@ -0,0 +1,32 @@
+package com.vaiquevai.anagramas;
+
+/**
+ * Implementação escalar de referência: um incremento por byte e comparação byte a byte.
+ */
+final class ScalarSignatureKernel implements SignatureKernel {
+
+    @Override
+    public void histograma(byte[] palavra, byte[] destino, int deslocamento) {
+        for (byte b : palavra) {
+            int codigo = (b | 0x20) - 'a'; // "A".."Z" e "a".."z" viram 0..25; bytes negativos ficam < 0
+            if (codigo >= 0 && codigo < LetterSignatures.LETRAS) {
+                destino[deslocamento + codigo]++;
+            }
+        }
+    }
+
+    @Override
+    public boolean iguais(byte[] a, int deslocamentoA, byte[] b, int deslocamentoB) {
+        for (int i = 0; i < LetterSignatures.TAMANHO; i++) {
+            if (a[deslocamentoA + i] != b[deslocamentoB + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String nome() {
+        return "escalar";
+    }
+}
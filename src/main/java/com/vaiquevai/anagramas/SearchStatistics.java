@@ -0,0 +1,122 @@
+package com.vaiquevai.anagramas;
+
+import java.util.Arrays;
+
+/**
+ * Estatísticas da árvore de busca: nós visitados, ramos podados e tempo por profundidade, e folhas
+ * (anagramas completos) alcançadas. Servem para ver quanto da árvore as restrições de fato cortam.
+ * <p>
+ * A coleta é ligada passando uma instância em {@link GenerationLimits#comEstatisticas(SearchStatistics)}.
+ * A busca usa um único laço: sem coleta, cada contagem custa só um desvio previsível; com ela, cada nó
+ * também lê o relógio duas vezes, então os tempos medidos incluem esse custo.
+ * <p>
+ * A busca acumula em contadores locais e soma tudo aqui uma única vez, ao terminar. Por isso a mesma
+ * instância pode ser compartilhada entre chamadas e threads para obter o agregado, ou ser nova a cada
+ * chamada para obter os números daquela busca.
+ */
+public final class SearchStatistics {
+
+    private long chamadas;
+    private long folhas;
+    private long[] nos = new long[0];
+    private long[] podas = new long[0];
+    private long[] nanos = new long[0];
+
+    /** Soma os contadores de uma busca (índice = profundidade). */
+    synchronized void acumular(long folhasDaBusca, long[] nosDaBusca, long[] podasDaBusca, long[] nanosDaBusca) {
+        chamadas++;
+        folhas += folhasDaBusca;
+        nos = somar(nos, nosDaBusca);
+        podas = somar(podas, podasDaBusca);
+        nanos = somar(nanos, nanosDaBusca);
+    }
+
+    /** Soma outras estatísticas nestas (ex.: as de uma chamada em um agregado). */
+    public void acumular(SearchStatistics outra) {
+        long f;
+        long[] n;
+        long[] p;
+        long[] t;
+        long c;
+        synchronized (outra) {
+            c = outra.chamadas;
+            f = outra.folhas;
+            n = outra.nos.clone();
+            p = outra.podas.clone();
+            t = outra.nanos.clone();
+        }
+        synchronized (this) {
+            chamadas += c;
+            folhas += f;
+            nos = somar(nos, n);
+            podas = somar(podas, p);
+            nanos = somar(nanos, t);
+        }
+    }
+
+    private static long[] somar(long[] total, long[] parcela) {
+        long[] soma = total.length >= parcela.length ? total : Arrays.copyOf(total, parcela.length);
+        for (int i = 0; i < parcela.length; i++) {
+            soma[i] += parcela[i];
+        }
+        return soma;
+    }
+
+    /** Buscas somadas nestas estatísticas. */
+    public synchronized long chamadas() {
+        return chamadas;
+    }
+
+    /** Anagramas completos alcançados (inclusive um eventual resultado descartado pelo limite). */
+    public synchronized long folhas() {
+        return folhas;
+    }
+
+    /** Profundidades com dados: 0 até n, onde n é a maior entrada vista. */
+    public synchronized int profundidades() {
+        return nos.length;
+    }
+
+    /** Total de nós visitados. */
+    public synchronized long nos() {
+        return Arrays.stream(nos).sum();
+    }
+
+    /** Nós visitados na profundidade (a raiz é 0; as folhas ficam na profundidade n). */
+    public synchronized long nos(int profundidade) {
+        return profundidade < nos.length ? nos[profundidade] : 0;
+    }
+
+    /** Total de ramos podados pelas restrições. */
+    public synchronized long podas() {
+        return Arrays.stream(podas).sum();
+    }
+
+    /** Ramos podados ao tentar colocar uma letra na posição {@code profundidade}. */
+    public synchronized long podas(int profundidade) {
+        return profundidade < podas.length ? podas[profundidade] : 0;
+    }
+
+    /** Tempo gasto nos nós da profundidade, sem contar os filhos. */
+    public synchronized long nanos(int profundidade) {
+        return profundidade < nanos.length ? nanos[profundidade] : 0;
+    }
+
+    /** Tabela legível, uma linha por profundidade, para log. */
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder()
+                .append("chamadas=").append(chamadas)
+                .append(" nos=").append(nos())
+                .append(" folhas=").append(folhas)
+                .append(" podas=").append(podas());
+        for (int d = 0; d < nos.length; d++) {
+            sb.append(System.lineSeparator())
+                    .append("  profundidade ").append(d)
+                    .append(": nos=").append(nos[d])
+                    .append(" podas=").append(podas[d])
+                    .append(" ms=").append(String.format("%.3f", nanos[d] / 1e6));
+        }
+        return sb.toString();
+    }
+}
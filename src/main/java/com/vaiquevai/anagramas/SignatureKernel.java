@@ -0,0 +1,22 @@
+package com.vaiquevai.anagramas;
+
+/**
+ * Núcleo de cálculo de assinaturas de letras usado por {@link LetterSignatures}.
+ * Há uma implementação escalar, sempre disponível, e uma vetorial (Vector API),
+ * escolhida automaticamente quando o módulo incubado está presente.
+ */
+interface SignatureKernel {
+
+    /**
+     * Escreve o histograma das letras ASCII de {@code palavra} em
+     * {@code destino[deslocamento .. deslocamento + LetterSignatures.TAMANHO)}.
+     * Letras são contadas sem distinção de maiúsculas; os demais bytes são ignorados.
+     */
+    void histograma(byte[] palavra, byte[] destino, int deslocamento);
+
+    /** Compara duas assinaturas de {@link LetterSignatures#TAMANHO} bytes. */
+    boolean iguais(byte[] a, int deslocamentoA, byte[] b, int deslocamentoB);
+
+    /** Nome para registro em log ("escalar", "vetorial-256" etc.). */
+    String nome();
+}
@@ -0,0 +1,50 @@
+package com.vaiquevai.anagramas;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementação com a Vector API ({@code jdk.incubator.vector}).
+ * O histograma inteiro (32 contadores de 1 byte) cabe em um único registrador de 256 bits:
+ * para cada letra, uma comparação com o vetor de índices gera a máscara da posição
+ * e uma soma mascarada incrementa o contador, sem ida e volta à memória.
+ * A comparação de assinaturas é uma única igualdade de vetores.
+ * <p>
+ * Só deve ser carregada quando o módulo está disponível (ver {@link LetterSignatures});
+ * por isso nenhuma outra classe a referencia diretamente.
+ */
+final class VectorSignatureKernel implements SignatureKernel {
+
+    private static final VectorSpecies<Byte> ESPECIE = ByteVector.SPECIES_256;
+    private static final ByteVector INDICES = ByteVector.zero(ESPECIE).addIndex(1);
+    private static final ByteVector UM = ByteVector.broadcast(ESPECIE, (byte) 1);
+
+    /** @return {@code true} se o hardware executa vetores de 256 bits nativamente */
+    static boolean suportado() {
+        return ByteVector.SPECIES_PREFERRED.vectorBitSize() >= ESPECIE.vectorBitSize();
+    }
+
+    @Override
+    public void histograma(byte[] palavra, byte[] destino, int deslocamento) {
+        ByteVector contadores = ByteVector.zero(ESPECIE);
+        for (byte b : palavra) {
+            int codigo = (b | 0x20) - 'a';
+            if (codigo >= 0 && codigo < LetterSignatures.LETRAS) {
+                contadores = contadores.add(UM, INDICES.eq((byte) codigo));
+            }
+        }
+        contadores.intoArray(destino, deslocamento);
+    }
+
+    @Override
+    public boolean iguais(byte[] a, int deslocamentoA, byte[] b, int deslocamentoB) {
+        return ByteVector.fromArray(ESPECIE, a, deslocamentoA)
+                .eq(ByteVector.fromArray(ESPECIE, b, deslocamentoB))
+                .allTrue();
+    }
+
+    @Override
+    public String nome() {
+        return "vetorial-" + ESPECIE.vectorBitSize();
+    }
+}
@@ -0,0 +1,105 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest {
+
+    @Test
+    void custoDeveSerFatorialVezesTamanho() {
+        assertEquals(6 * 3, AdmissionController.custo("abc"));
+        assertEquals(Long.MAX_VALUE, AdmissionController.custo("abcdefghijklmnopqrstu"));
+        assertEquals(2 * 3, AdmissionController.custo("abc", AnagramConstraints.nenhuma().comPrefixo("a")));
+    }
+
+    @Test
+    void custoComRestricoesNaoDeveContarEntradasGrandes() {
+        AnagramConstraints separadas = AnagramConstraints.nenhuma().semAdjacencia("a", "b");
+        // até o limite, contagem exata: (n-1)!·(n-2) anagramas × n
+        assertEquals(PermutationRank.fatorial(11) * 10 * 12, AdmissionController.custo("abcdefghijkl", separadas));
+        // acima, o limite superior n! × n, sem a programação dinâmica
+        String vinte = "abcdefghijklmnopqrst";
+        assertEquals(AdmissionController.custo(vinte), AdmissionController.custo(vinte, separadas));
+
+        AdmissionController controle = new AdmissionController(1_000, 100);
+        try (Admission admissao = controle.admitir("abc", separadas, Duration.ZERO)) {
+            assertTrue(admissao.isAdmitida());
+            assertEquals(0, controle.emUso());
+        }
+        assertEquals(Admission.Motivo.CUSTO_ACIMA_DO_ORCAMENTO,
+                controle.admitir(vinte, separadas, Duration.ZERO).motivo());
+    }
+
+    @Test
+    void entradaLongaDemaisDeveSerRecusadaPeloOrcamentoComOuSemRestricoes() {
+        String longa = "abcdefghijklmnopqrstu";
+        long custo = AdmissionController.custo(longa, AnagramConstraints.nenhuma().comPrefixo("a"));
+        assertEquals(Long.MAX_VALUE, custo);
+        assertEquals(AdmissionController.custo(longa), custo);
+        AdmissionController controle = new AdmissionController(1_000, 0);
+        assertEquals(Admission.Motivo.CUSTO_ACIMA_DO_ORCAMENTO, controle.admitirCusto(custo, Duration.ZERO).motivo());
+    }
+
+    @Test
+    void pedidoBaratoDevePassarDiretoSemConsumirOrcamento() {
+        AdmissionController controle = new AdmissionController(100, 20);
+        try (Admission admissao = controle.admitir("abc", Duration.ZERO)) {
+            assertTrue(admissao.isAdmitida());
+            assertEquals(0, controle.emUso());
+        }
+    }
+
+    @Test
+    void pedidoAcimaDoOrcamentoDeveSerRecusadoComMotivo() {
+        AdmissionController controle = new AdmissionController(1_000, 0);
+        Admission admissao = controle.admitir("abcdefg", Duration.ofSeconds(1)); // 7! × 7 = 35.280
+        assertEquals(Admission.Motivo.CUSTO_ACIMA_DO_ORCAMENTO, admissao.motivo());
+        assertTrue(admissao.mensagem().contains("35280"));
+        RejectedExecutionException e = assertThrows(RejectedExecutionException.class,
+                () -> controle.gerarAnagramas("abcdefg", Duration.ZERO));
+        assertEquals(admissao.mensagem(), e.getMessage());
+    }
+
+    @Test
+    void pedidoDeveEsperarOrcamentoLiberarOuDesistir() throws Exception {
+        AdmissionController controle = new AdmissionController(150, 0);
+        Admission primeiro = controle.admitir("abcd", Duration.ZERO); // 96
+        assertTrue(primeiro.isAdmitida());
+        assertEquals(96, controle.emUso());
+
+        assertEquals(Admission.Motivo.ESPERA_ESGOTADA, controle.admitir("dcba", Duration.ofMillis(20)).motivo());
+
+        CompletableFuture<Admission> segundo = CompletableFuture.supplyAsync(
+                () -> controle.admitir("dcba", Duration.ofSeconds(5)));
+        Thread.sleep(50);
+        assertFalse(segundo.isDone());
+        primeiro.close();
+        primeiro.close(); // idempotente
+        try (Admission admissao = segundo.get(5, TimeUnit.SECONDS)) {
+            assertTrue(admissao.isAdmitida());
+            assertEquals(96, controle.emUso());
+        }
+        assertEquals(0, controle.emUso());
+    }
+
+    @Test
+    void deveGerarQuandoAdmitido() {
+        AdmissionController controle = new AdmissionController(1_000, 0);
+        assertEquals(List.of("ab", "ba"), controle.gerarAnagramas("ba", Duration.ZERO));
+        assertEquals(0, controle.emUso());
+    }
+
+    @Test
+    void deveValidarParametros() {
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionController(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionController(10, 11));
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionController(10, 0).admitir("aa", Duration.ZERO));
+    }
+}
@@ -0,0 +1,95 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnagramBatchTest {
+
+    private static final String FIM = System.lineSeparator();
+
+    @Test
+    void deveGravarBlocosNaOrdemDaEntrada() throws IOException {
+        String entrada = String.join("\n", "ba", "c", "abc");
+        StringWriter saida = new StringWriter();
+
+        long erros = AnagramBatch.processar(new BufferedReader(new StringReader(entrada)), saida, 4, 2);
+
+        String esperado = "> ba" + FIM + "ab" + FIM + "ba" + FIM + FIM
+                + "> c" + FIM + "c" + FIM + FIM
+                + "> abc" + FIM + String.join(FIM, AnagramGenerator.gerarAnagramas("abc")) + FIM + FIM;
+        assertEquals(0, erros);
+        assertEquals(esperado, saida.toString());
+    }
+
+    @Test
+    void deveRegistrarErroPorLinhaSemInterromperOLote() throws IOException {
+        String entrada = String.join("\n", "aa", "", "ab", "a1");
+        StringWriter saida = new StringWriter();
+
+        long erros = AnagramBatch.processar(new BufferedReader(new StringReader(entrada)), saida, 2, 1);
+
+        List<String> blocos = List.of(saida.toString().split(FIM + FIM));
+        assertEquals(3, erros);
+        assertEquals(4, blocos.size());
+        assertTrue(blocos.get(0).startsWith("> aa" + FIM + AnagramBatch.ERRO));
+        assertTrue(blocos.get(1).startsWith("> " + FIM + AnagramBatch.ERRO));
+        assertEquals("> ab" + FIM + "ab" + FIM + "ba", blocos.get(2));
+        assertTrue(blocos.get(3).contains("Caractere inválido"));
+    }
+
+    @Test
+    void deveManterOrdemComMuitasLinhasEFilaPequena() throws IOException {
+        StringBuilder entrada = new StringBuilder();
+        StringBuilder esperado = new StringBuilder();
+        String[] linhas = {"dcba", "x", "zy", "qwe"};
+        for (int i = 0; i < 200; i++) {
+            String linha = linhas[i % linhas.length];
+            entrada.append(linha).append('\n');
+            esperado.append(AnagramBatch.bloco(linha).texto());
+        }
+        StringWriter saida = new StringWriter();
+
+        AnagramBatch.processar(new BufferedReader(new StringReader(entrada.toString())), saida, 8, 3);
+
+        assertEquals(esperado.toString(), saida.toString());
+    }
+
+    @Test
+    void orcamentoPequenoDeveSerializarBlocosGrandesSemMudarASaida() throws IOException {
+        String[] linhas = {"gfedcba", "ab", "hgfedcba", "x"};
+        StringBuilder esperado = new StringBuilder();
+        for (String linha : linhas) {
+            esperado.append(AnagramBatch.bloco(linha).texto());
+        }
+        StringWriter saida = new StringWriter();
+
+        // orçamento menor que qualquer bloco grande: cada um é aceito sozinho
+        AnagramBatch.processar(new BufferedReader(new StringReader(String.join("\n", linhas))), saida, 4, 4, 1_000);
+
+        assertEquals(esperado.toString(), saida.toString());
+    }
+
+    @Test
+    void custoEstimadoDeveCobrirOBlocoGerado() {
+        for (String linha : new String[]{"abc", "gfedcba", "é" + new String(Character.toChars(0x10330)), "aa", "abcdefghijk", ""}) {
+            long custo = AnagramBatch.custoEstimado(linha);
+            assertTrue(AnagramBatch.bloco(linha).texto().length() <= custo, linha);
+        }
+        // 10 letras: 10! linhas de 10 letras e separador
+        assertTrue(AnagramBatch.custoEstimado("abcdefghij") >= 3_628_800L * 11);
+    }
+
+    @Test
+    void deveRecusarLinhaLongaDemais() {
+        AnagramBatch.Bloco bloco = AnagramBatch.bloco("abcdefghijk");
+        assertTrue(bloco.erro());
+        assertTrue(bloco.texto().contains("até " + AnagramBatch.MAXIMO_LETRAS + " letras"));
+    }
+}
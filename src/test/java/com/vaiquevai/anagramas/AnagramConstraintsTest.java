@@ -0,0 +1,79 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnagramConstraintsTest {
+
+    private static List<String> filtrar(String entrada, Predicate<String> filtro) {
+        return AnagramGenerator.gerarAnagramas(entrada).stream().filter(filtro).toList();
+    }
+
+    @Test
+    void deveRespeitarLetrasPermitidasESufixo() {
+        AnagramConstraints r = AnagramConstraints.nenhuma()
+                .comLetrasPermitidas(0, "aeiou")
+                .comSufixo("s");
+        List<String> esperado = filtrar("rsteao", s -> "aeiou".indexOf(s.charAt(0)) >= 0 && s.endsWith("s"));
+        assertEquals(esperado, AnagramGenerator.gerarAnagramas("rsteao", r));
+        assertEquals(esperado.size(), AnagramGenerator.contarAnagramas("rsteao", r));
+    }
+
+    @Test
+    void deveProibirAdjacenciaEmQualquerOrdem() {
+        AnagramConstraints r = AnagramConstraints.nenhuma().semAdjacencia("a", "b");
+        List<String> esperado = filtrar("abcde", s -> !s.contains("ab") && !s.contains("ba"));
+        assertEquals(esperado, AnagramGenerator.gerarAnagramas("abcde", r));
+        assertEquals(72, AnagramGenerator.contarAnagramas("abcde", r));
+    }
+
+    @Test
+    void deveCombinarPrefixoPosicaoNegativaEAdjacencia() {
+        AnagramConstraints r = AnagramConstraints.nenhuma()
+                .comPrefixo("c")
+                .comLetrasPermitidas(-2, "ab")
+                .semAdjacencia("d", "e");
+        List<String> esperado = filtrar("abcdef", s -> s.startsWith("c")
+                && "ab".indexOf(s.charAt(4)) >= 0
+                && !s.contains("de") && !s.contains("ed"));
+        assertEquals(esperado, AnagramGenerator.gerarAnagramas("abcdef", r));
+        assertEquals(esperado.size(), AnagramGenerator.contarAnagramas("abcdef", r));
+    }
+
+    @Test
+    void contagemDeveFuncionarParaEntradasLongasSemGerar() {
+        AnagramConstraints r = AnagramConstraints.nenhuma().comPrefixo("ab").comSufixo("t");
+        // 20 letras, 3 fixas: 17! anagramas
+        assertEquals(355_687_428_096_000L, AnagramGenerator.contarAnagramas("abcdefghijklmnopqrst", r));
+        assertEquals(2_432_902_008_176_640_000L,
+                AnagramGenerator.contarAnagramas("abcdefghijklmnopqrst", AnagramConstraints.nenhuma()));
+    }
+
+    @Test
+    void contagemComAdjacenciaDeveTerminarAte20Letras() {
+        // a e b não adjacentes: n! - 2·(n-1)! = (n-1)!·(n-2)
+        AnagramConstraints separadas = AnagramConstraints.nenhuma().semAdjacencia("a", "b");
+        assertEquals(PermutationRank.fatorial(16) * 15, AnagramGenerator.contarAnagramas("abcdefghijklmnopq", separadas));
+        // prefixo "c" e as outras 19 letras com a e b separadas: 18!·17
+        AnagramConstraints comPrefixo = separadas.comPrefixo("c");
+        assertEquals(PermutationRank.fatorial(18) * 17,
+                AnagramGenerator.contarAnagramas("abcdefghijklmnopqrst", comPrefixo));
+    }
+
+    @Test
+    void posicaoInexistenteOuLetraAusenteDeveResultarVazio() {
+        assertTrue(AnagramGenerator.gerarAnagramas("abc", AnagramConstraints.nenhuma().comLetrasPermitidas(5, "a")).isEmpty());
+        assertEquals(0, AnagramGenerator.contarAnagramas("abc", AnagramConstraints.nenhuma().comPrefixo("z")));
+    }
+
+    @Test
+    void devePodarSubarvoresInviaveisCedo() {
+        // Sufixo fixo em 13 letras: sem poda antecipada a busca visitaria ~13! nós.
+        AnagramConstraints r = AnagramConstraints.nenhuma().comPrefixo("abcdefghij").comSufixo("m");
+        assertEquals(List.of("abcdefghijklm", "abcdefghijlkm"), AnagramGenerator.gerarAnagramas("mlkjihgfedcba", r));
+    }
+}
@@ -0,0 +1,73 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnagramDaemonTest {
+
+    @TempDir
+    Path dir;
+
+    private Path socket;
+    private ServerSocketChannel servidor;
+
+    @BeforeEach
+    void iniciarDaemon() throws IOException {
+        socket = dir.resolve("anagramas.sock");
+        servidor = AnagramDaemon.abrir(socket);
+        Thread atendimento = new Thread(() -> {
+            try {
+                AnagramDaemon.servir(servidor, 2);
+            } catch (IOException e) {
+                // encerrado em pararDaemon
+            }
+        });
+        atendimento.setDaemon(true);
+        atendimento.start();
+    }
+
+    @AfterEach
+    void pararDaemon() throws IOException {
+        servidor.close();
+    }
+
+    @Test
+    void deveResponderComOsMesmosAnagramasDoGerador() throws IOException {
+        assertEquals(AnagramGenerator.gerarAnagramas("dcba"), consultar("dcba"));
+    }
+
+    @Test
+    void deveAtenderVariosPedidosNoMesmoProcesso() throws IOException {
+        assertEquals(List.of("ab", "ba"), consultar("ab"));
+        assertEquals(AnagramGenerator.gerarFragmento("abcd", 1, 3), consultar("--shard", "1/3", "abcd"));
+    }
+
+    @Test
+    void deveRepassarErroDeValidacao() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> consultar("aa"));
+        assertTrue(e.getMessage().contains("Letra repetida"));
+    }
+
+    @Test
+    void deveRecusarOpcoesQueMexemEmArquivos() {
+        assertThrows(IllegalArgumentException.class, () -> consultar("--saida", "/tmp/x", "abc"));
+    }
+
+    private List<String> consultar(String... args) throws IOException {
+        StringWriter saida = new StringWriter();
+        AnagramDaemon.consultar(socket, Arrays.asList(args), saida);
+        String texto = saida.toString();
+        return texto.isEmpty() ? List.of() : List.of(texto.split(System.lineSeparator()));
+    }
+}
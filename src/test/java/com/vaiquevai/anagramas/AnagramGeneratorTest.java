@@ -3,7 +3,10 @@ package com.vaiquevai.anagramas;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -43,4 +46,36 @@ class AnagramGeneratorTest {
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, exec);
         assertTrue(ex.getMessage().toLowerCase().contains("distintas"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void iteradorDeveProduzirMesmaOrdemDaLista() {
+        List<String> doIterador = new ArrayList<>();
+        Iterator<String> it = AnagramGenerator.iterarAnagramas("dcab");
+        it.forEachRemaining(doIterador::add);
+        assertEquals(AnagramGenerator.gerarAnagramas("dcab"), doIterador);
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    @Test
+    void devePermutarLetrasForaDoBmpSemSepararSubstitutos() {
+        String gotico = new String(Character.toChars(0x10330)); // 𐌰, letra gótica (par substituto)
+        List<String> resultado = AnagramGenerator.gerarAnagramas("a" + gotico);
+        assertEquals(List.of("a" + gotico, gotico + "a"), resultado);
+        for (String anagrama : resultado) {
+            assertEquals(2, anagrama.codePointCount(0, anagrama.length()));
+        }
+    }
+
+    @Test
+    void deveDetectarRepeticaoDeLetraForaDoBmp() {
+        String gotico = new String(Character.toChars(0x10330));
+        Executable exec = () -> AnagramGenerator.gerarAnagramas(gotico + "b" + gotico);
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, exec);
+        assertTrue(ex.getMessage().contains(gotico));
+    }
+
+    @Test
+    void deveIgnorarEspacosNasExtremidades() {
+        assertEquals(AnagramGenerator.gerarAnagramas("ab"), AnagramGenerator.gerarAnagramas("  ab "));
+    }
+}
@@ -0,0 +1,56 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.RandomAccess;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnagramListViewTest {
+
+    @Test
+    void deveSerEquivalenteALista() {
+        List<String> visao = AnagramGenerator.visaoAnagramas("fedcba");
+        List<String> lista = AnagramGenerator.gerarAnagramas("fedcba");
+        assertEquals(lista, visao);
+        assertEquals(lista.hashCode(), visao.hashCode());
+        assertEquals(lista.subList(100, 110), visao.subList(100, 110));
+        assertInstanceOf(RandomAccess.class, visao);
+        for (int i = 0; i < lista.size(); i += 37) {
+            assertEquals(lista.get(i), visao.get(i));
+        }
+    }
+
+    @Test
+    void deveCalcularElementosDeListasEnormesSobDemanda() {
+        List<String> visao = AnagramGenerator.visaoAnagramas("abcdefghijkl", 64);
+        assertEquals(479_001_600, visao.size());
+        assertEquals("lkjihgfedcba", visao.get(visao.size() - 1));
+        assertSame(visao.get(12345), visao.get(12345), "Segundo acesso deve vir do cache");
+        assertEquals(12345, visao.indexOf(visao.get(12345)));
+    }
+
+    @Test
+    void indexOfDeveRecusarNaoAnagramas() {
+        List<String> visao = AnagramGenerator.visaoAnagramas("abc");
+        assertEquals(-1, visao.indexOf("abd"));
+        assertEquals(-1, visao.indexOf("aab"));
+        assertEquals(-1, visao.indexOf("ab"));
+        assertFalse(visao.contains(42));
+        assertTrue(visao.contains("cab"));
+    }
+
+    @Test
+    void deveSerImutavel() {
+        List<String> visao = AnagramGenerator.visaoAnagramas("abc");
+        assertThrows(UnsupportedOperationException.class, () -> visao.add("x"));
+        assertThrows(UnsupportedOperationException.class, () -> visao.set(0, "x"));
+        assertThrows(IndexOutOfBoundsException.class, () -> visao.get(6));
+    }
+
+    @Test
+    void deveRejeitarEntradasAcimaDoLimite() {
+        assertThrows(IllegalArgumentException.class, () -> AnagramGenerator.visaoAnagramas("abcdefghijklm"));
+    }
+}
@@ -0,0 +1,46 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnagramPatternTest {
+
+    private static List<String> comRegex(String entrada, String regex) {
+        Pattern p = Pattern.compile(regex);
+        return AnagramGenerator.gerarAnagramas(entrada).stream().filter(s -> p.matcher(s).matches()).toList();
+    }
+
+    @Test
+    void deveCasarCuringasELetrasFixas() {
+        assertEquals(comRegex("abcde", ".a..e"), AnagramGenerator.buscarPadrao("abcde", "?a??e"));
+    }
+
+    @Test
+    void deveCasarClassesENegacoes() {
+        assertEquals(comRegex("abcdef", "[aeiou][^ab].f.."),
+                AnagramGenerator.buscarPadrao("abcdef", "[aeiou][^ab]?f??"));
+    }
+
+    @Test
+    void padraoDeOutroTamanhoNaoCasaNada() {
+        assertTrue(AnagramGenerator.buscarPadrao("abc", "????").isEmpty());
+    }
+
+    @Test
+    void padraoPodeSerCombinadoComOutrasRestricoes() {
+        AnagramConstraints r = AnagramPattern.compilar("a???").comoRestricoes().semAdjacencia("b", "c");
+        assertEquals(List.of("abdc", "acdb"), AnagramGenerator.gerarAnagramas("abcd", r));
+    }
+
+    @Test
+    void deveRejeitarPadroesMalFormados() {
+        assertThrows(IllegalArgumentException.class, () -> AnagramPattern.compilar("?[ab"));
+        assertThrows(IllegalArgumentException.class, () -> AnagramPattern.compilar("?[]"));
+        assertThrows(IllegalArgumentException.class, () -> AnagramPattern.compilar("a1?"));
+        assertThrows(IllegalArgumentException.class, () -> AnagramPattern.compilar(""));
+    }
+}
@@ -0,0 +1,113 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnagramPublisherTest {
+
+    /** Assinante de teste que registra os eventos e pede sob comando. */
+    private static final class Coletor implements Flow.Subscriber<String> {
+        final List<String> recebidos = new ArrayList<>();
+        Flow.Subscription assinatura;
+        Throwable erro;
+        boolean completo;
+
+        @Override
+        public void onSubscribe(Flow.Subscription assinatura) {
+            this.assinatura = assinatura;
+        }
+
+        @Override
+        public void onNext(String item) {
+            recebidos.add(item);
+        }
+
+        @Override
+        public void onError(Throwable erro) {
+            this.erro = erro;
+        }
+
+        @Override
+        public void onComplete() {
+            completo = true;
+        }
+    }
+
+    @Test
+    void deveEmitirApenasOQueFoiPedido() {
+        Coletor coletor = new Coletor();
+        AnagramGenerator.publicarAnagramas("abc").subscribe(coletor);
+        assertTrue(coletor.recebidos.isEmpty(), "Nada deve ser emitido antes do primeiro request");
+
+        coletor.assinatura.request(2);
+        assertEquals(List.of("abc", "acb"), coletor.recebidos);
+
+        coletor.assinatura.request(3);
+        assertEquals(List.of("abc", "acb", "bac", "bca", "cab"), coletor.recebidos);
+        assertFalse(coletor.completo);
+
+        coletor.assinatura.request(10);
+        assertEquals(AnagramGenerator.gerarAnagramas("abc"), coletor.recebidos);
+        assertTrue(coletor.completo);
+    }
+
+    @Test
+    void devePararAposCancelamento() {
+        Coletor coletor = new Coletor();
+        AnagramGenerator.publicarAnagramas("abcd").subscribe(coletor);
+        coletor.assinatura.request(3);
+        coletor.assinatura.cancel();
+        coletor.assinatura.request(100);
+        assertEquals(3, coletor.recebidos.size());
+        assertFalse(coletor.completo);
+    }
+
+    @Test
+    void deveSuportarPedidoReentranteDentroDeOnNext() {
+        List<String> recebidos = new ArrayList<>();
+        AnagramGenerator.publicarAnagramas("abcd").subscribe(new Flow.Subscriber<>() {
+            Flow.Subscription assinatura;
+
+            @Override
+            public void onSubscribe(Flow.Subscription assinatura) {
+                this.assinatura = assinatura;
+                assinatura.request(1);
+            }
+
+            @Override
+            public void onNext(String item) {
+                recebidos.add(item);
+                assinatura.request(1);
+            }
+
+            @Override
+            public void onError(Throwable erro) {
+                fail(erro);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertEquals(24, recebidos.size());
+    }
+
+    @Test
+    void deveSinalizarErroParaPedidoNaoPositivo() {
+        Coletor coletor = new Coletor();
+        AnagramGenerator.publicarAnagramas("ab").subscribe(coletor);
+        coletor.assinatura.request(0);
+        assertInstanceOf(IllegalArgumentException.class, coletor.erro);
+        assertTrue(coletor.recebidos.isEmpty());
+    }
+
+    @Test
+    void deveValidarEntradaAoCriarPublisher() {
+        assertThrows(IllegalArgumentException.class, () -> AnagramGenerator.publicarAnagramas("aa"));
+    }
+}
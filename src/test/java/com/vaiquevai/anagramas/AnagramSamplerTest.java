@@ -0,0 +1,58 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnagramSamplerTest {
+
+    @Test
+    void mesmaSementeDeveReproduzirAmostras() {
+        assertEquals(AnagramSampler.amostrar("abcdefghij", 50, true, 42L),
+                AnagramSampler.amostrar("abcdefghij", 50, true, 42L));
+        assertNotEquals(AnagramSampler.amostrar("abcdefghij", 50, true, 42L),
+                AnagramSampler.amostrar("abcdefghij", 50, true, 43L));
+    }
+
+    @Test
+    void paraleloDeveSerIdenticoAoSequencial() {
+        assertEquals(AnagramSampler.amostrar("abcdefgh", 5000, true, 7L),
+                AnagramSampler.amostrarEmParalelo("abcdefgh", 5000, 7L));
+    }
+
+    @Test
+    void semReposicaoDeveProduzirAnagramasDistintosEValidos() {
+        List<String> todos = AnagramGenerator.gerarAnagramas("abcd");
+        List<String> amostra = AnagramSampler.amostrar("abcd", 24, false, 1L);
+        assertEquals(24, new HashSet<>(amostra).size());
+        assertTrue(todos.containsAll(amostra));
+    }
+
+    @Test
+    void semReposicaoDeveFuncionarParaEntradasEnormes() {
+        List<String> amostra = AnagramSampler.amostrar("abcdefghijklmnopqrstuvwxyz", 100, false, 3L);
+        assertEquals(100, new HashSet<>(amostra).size());
+        assertEquals(26, amostra.get(0).length());
+    }
+
+    @Test
+    void distribuicaoDeveSerAproximadamenteUniforme() {
+        Map<String, Integer> contagem = new HashMap<>();
+        for (String s : AnagramSampler.amostrar("abc", 60_000, true, 11L)) {
+            contagem.merge(s, 1, Integer::sum);
+        }
+        assertEquals(6, contagem.size());
+        contagem.values().forEach(c -> assertEquals(10_000, c, 500));
+    }
+
+    @Test
+    void deveRejeitarMaisAmostrasDistintasQueOTotal() {
+        assertThrows(IllegalArgumentException.class, () -> AnagramSampler.amostrar("abc", 7, false, 0L));
+        assertThrows(IllegalArgumentException.class, () -> AnagramSampler.amostrar("abc", -1, true, 0L));
+    }
+}
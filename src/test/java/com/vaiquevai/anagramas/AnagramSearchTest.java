@@ -0,0 +1,65 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnagramSearchTest {
+
+    @Test
+    void semLimitesDeveGerarTudo() {
+        GenerationResult r = AnagramGenerator.gerarAnagramas("dcba", GenerationLimits.semLimites());
+        assertFalse(r.truncado());
+        assertEquals(GenerationResult.Motivo.COMPLETO, r.motivo());
+        assertEquals(AnagramGenerator.gerarAnagramas("dcba"), r.anagramas());
+    }
+
+    @Test
+    void deveTruncarNoMaximoDeResultados() {
+        GenerationResult r = AnagramGenerator.gerarAnagramas("abcd",
+                GenerationLimits.semLimites().comMaximoResultados(5));
+        assertTrue(r.truncado());
+        assertEquals(GenerationResult.Motivo.LIMITE_DE_RESULTADOS, r.motivo());
+        assertEquals(AnagramGenerator.gerarAnagramas("abcd").subList(0, 5), r.anagramas());
+    }
+
+    @Test
+    void maximoIgualAoTotalNaoDeveMarcarTruncado() {
+        GenerationResult r = AnagramGenerator.gerarAnagramas("abc",
+                GenerationLimits.semLimites().comMaximoResultados(6));
+        assertFalse(r.truncado());
+        assertEquals(6, r.anagramas().size());
+    }
+
+    @Test
+    void devePararAoEsgotarPrazo() {
+        GenerationResult r = AnagramGenerator.gerarAnagramas("abcdefghijklm",
+                GenerationLimits.semLimites().comPrazo(Duration.ofMillis(50)));
+        assertEquals(GenerationResult.Motivo.PRAZO_ESGOTADO, r.motivo());
+        assertTrue(r.anagramas().size() < 6_227_020_800L);
+    }
+
+    @Test
+    void deveRespeitarTokenCancelado() {
+        CancellationToken token = new CancellationToken();
+        token.cancelar();
+        GenerationResult r = AnagramGenerator.gerarAnagramas("abcdefghijklm",
+                GenerationLimits.semLimites().comCancelamento(token));
+        assertEquals(GenerationResult.Motivo.CANCELADO, r.motivo());
+        assertTrue(r.anagramas().isEmpty());
+    }
+
+    @Test
+    void deveRespeitarInterrupcaoPreservandoAFlag() {
+        Thread.currentThread().interrupt();
+        try {
+            GenerationResult r = AnagramGenerator.gerarAnagramas("abcdefghijklm", GenerationLimits.semLimites());
+            assertEquals(GenerationResult.Motivo.INTERROMPIDO, r.motivo());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
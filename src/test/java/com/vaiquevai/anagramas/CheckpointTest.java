@@ -0,0 +1,61 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void deveRetomarSemDuplicarNemPerderResultados() throws IOException {
+        List<String> obtidos = new ArrayList<>();
+        AnagramIterator it = AnagramGenerator.iterarAnagramas("edcba");
+        for (int i = 0; i < 37; i++) {
+            obtidos.add(it.next());
+        }
+        Path arquivo = dir.resolve("estado.properties");
+        Checkpoint.de("edcba", it, 0).salvar(arquivo);
+
+        AnagramGenerator.retomarAnagramas(Checkpoint.carregar(arquivo)).forEachRemaining(obtidos::add);
+        assertEquals(AnagramGenerator.gerarAnagramas("edcba"), obtidos);
+    }
+
+    @Test
+    void deveRetomarDentroDoFragmento() throws IOException {
+        AnagramIterator it = AnagramGenerator.iterarFragmento("abcd", 1, 3);
+        List<String> obtidos = new ArrayList<>(List.of(it.next(), it.next()));
+        Path arquivo = dir.resolve("fragmento.properties");
+        Checkpoint.de("abcd", it, 123).salvar(arquivo);
+
+        Checkpoint lido = Checkpoint.carregar(arquivo);
+        assertEquals(new Checkpoint("abcd", 10, 16, 123), lido);
+        AnagramGenerator.retomarAnagramas(lido).forEachRemaining(obtidos::add);
+        assertEquals(AnagramGenerator.gerarFragmento("abcd", 1, 3), obtidos);
+    }
+
+    @Test
+    void checkpointFinalDeveEstarConcluido() {
+        AnagramIterator it = AnagramGenerator.iterarAnagramas("abc");
+        it.forEachRemaining(s -> { });
+        Checkpoint fim = Checkpoint.de("abc", it, 0);
+        assertTrue(fim.concluido());
+        assertFalse(AnagramGenerator.retomarAnagramas(fim).hasNext());
+    }
+
+    @Test
+    void deveRejeitarArquivoIncompleto() throws IOException {
+        Path arquivo = dir.resolve("ruim.properties");
+        Files.writeString(arquivo, "entrada=abc\nproximoRank=2\n");
+        assertThrows(IllegalArgumentException.class, () -> Checkpoint.carregar(arquivo));
+    }
+}
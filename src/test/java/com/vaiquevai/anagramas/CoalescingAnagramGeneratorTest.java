@@ -0,0 +1,149 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingAnagramGeneratorTest {
+
+    @Test
+    void devePadronizarAChaveEDevolverListaImutavel() {
+        CoalescingAnagramGenerator gerador = new CoalescingAnagramGenerator(LetterFolding.MINUSCULAS);
+        List<String> anagramas = gerador.gerarAnagramas("CaB");
+        assertEquals(AnagramGenerator.gerarAnagramas("abc"), anagramas);
+        assertThrows(UnsupportedOperationException.class, () -> anagramas.add("x"));
+        assertEquals(0, gerador.emAndamento());
+    }
+
+    @Test
+    void pedidosConcorrentesDevemCompartilharUmaGeracao() throws Exception {
+        AtomicInteger geracoes = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        CoalescingAnagramGenerator gerador = new CoalescingAnagramGenerator(LetterFolding.NENHUMA, letras -> {
+            geracoes.incrementAndGet();
+            aguardar(liberar);
+            return AnagramGenerator.gerarAnagramas(letras, GenerationLimits.semLimites());
+        });
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch chegaram = new CountDownLatch(8);
+            List<Future<List<String>>> pedidos = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String entrada = i % 2 == 0 ? "abcd" : "dcba";
+                pedidos.add(threads.submit(() -> {
+                    chegaram.countDown();
+                    return gerador.gerarAnagramas(entrada);
+                }));
+            }
+            chegaram.await();
+            Thread.sleep(100); // dá tempo para os pedidos se juntarem à geração bloqueada
+            liberar.countDown();
+            List<String> primeiro = pedidos.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<List<String>> pedido : pedidos) {
+                assertSame(primeiro, pedido.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, geracoes.get());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    void falhaNaoDeveContaminarChamadasSeguintes() {
+        AtomicInteger tentativas = new AtomicInteger();
+        CoalescingAnagramGenerator gerador = new CoalescingAnagramGenerator(LetterFolding.NENHUMA, letras -> {
+            if (tentativas.getAndIncrement() == 0) {
+                throw new IllegalStateException("falha simulada");
+            }
+            return AnagramGenerator.gerarAnagramas(letras, GenerationLimits.semLimites());
+        });
+        assertThrows(IllegalStateException.class, () -> gerador.gerarAnagramas("ab"));
+        assertEquals(List.of("ab", "ba"), gerador.gerarAnagramas("ab"));
+        assertEquals(0, gerador.emAndamento());
+    }
+
+    @Test
+    void interrupcaoDeQuemGeraDeveFazerOutroAssumir() throws Exception {
+        AtomicInteger tentativas = new AtomicInteger();
+        CountDownLatch esperandoSeJuntar = new CountDownLatch(1);
+        CoalescingAnagramGenerator gerador = new CoalescingAnagramGenerator(LetterFolding.NENHUMA, letras -> {
+            if (tentativas.getAndIncrement() == 0) {
+                aguardar(esperandoSeJuntar);
+                return new GenerationResult(List.of("ab"), GenerationResult.Motivo.INTERROMPIDO);
+            }
+            return AnagramGenerator.gerarAnagramas(letras, GenerationLimits.semLimites());
+        });
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<String>> lider = threads.submit(() -> gerador.gerarAnagramas("ab"));
+            while (gerador.emAndamento() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<List<String>> seguidor = threads.submit(() -> gerador.gerarAnagramas("ba"));
+            Thread.sleep(50);
+            esperandoSeJuntar.countDown();
+
+            ExecutionException falha = assertThrows(ExecutionException.class, () -> lider.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(CancellationException.class, falha.getCause());
+            assertEquals(List.of("ab", "ba"), seguidor.get(5, TimeUnit.SECONDS));
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    void truncamentoQueNaoEInterrupcaoDeveFalharParaTodosSemRepetir() throws Exception {
+        AtomicInteger tentativas = new AtomicInteger();
+        CountDownLatch esperandoSeJuntar = new CountDownLatch(1);
+        CoalescingAnagramGenerator gerador = new CoalescingAnagramGenerator(LetterFolding.NENHUMA, letras -> {
+            tentativas.incrementAndGet();
+            aguardar(esperandoSeJuntar);
+            return new GenerationResult(List.of("ab"), GenerationResult.Motivo.LIMITE_DE_RESULTADOS);
+        });
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<String>> lider = threads.submit(() -> gerador.gerarAnagramas("ab"));
+            while (gerador.emAndamento() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<List<String>> seguidor = threads.submit(() -> gerador.gerarAnagramas("ba"));
+            Thread.sleep(50);
+            esperandoSeJuntar.countDown();
+
+            for (Future<List<String>> chamada : List.of(lider, seguidor)) {
+                ExecutionException falha = assertThrows(ExecutionException.class, () -> chamada.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, falha.getCause());
+            }
+            assertEquals(1, tentativas.get());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    void entradaInvalidaDeveFalharSemIniciarGeracao() {
+        CoalescingAnagramGenerator gerador = new CoalescingAnagramGenerator();
+        assertThrows(IllegalArgumentException.class, () -> gerador.gerarAnagramas("aa"));
+        assertThrows(IllegalArgumentException.class, () -> gerador.gerarAnagramas("abcdefghijklm"));
+        assertEquals(0, gerador.emAndamento());
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalAnagramGrouperTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void deveAgruparPorClasseSemRepetirPalavras() throws IOException {
+        Path corpus = escrever("Amor, Roma e ramo; amor!\nmora ao lado de Omar... de");
+        Path saida = dir.resolve("grupos.txt");
+
+        long classes = ExternalAnagramGrouper.agrupar(corpus, saida, 1 << 20, LetterFolding.MINUSCULAS, dir);
+
+        assertEquals(List.of("lado", "amor mora omar ramo roma", "ao", "de", "e"), Files.readAllLines(saida));
+        assertEquals(5, classes);
+    }
+
+    @Test
+    void deveProduzirOMesmoResultadoComOrcamentoMinusculo() throws IOException {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            int tamanho = 1 + aleatorio.nextInt(4);
+            for (int j = 0; j < tamanho; j++) {
+                texto.append((char) ('a' + aleatorio.nextInt(5)));
+            }
+            texto.append(i % 17 == 0 ? '\n' : ' ');
+        }
+        Path corpus = escrever(texto.toString());
+        Path saida = dir.resolve("grupos.txt");
+
+        // ~20 pares por run: centenas de runs, o que força várias passadas de intercalação
+        ExternalAnagramGrouper.agrupar(corpus, saida, 20 * 120, LetterFolding.NENHUMA, dir);
+
+        assertEquals(emMemoria(texto.toString()), Files.readAllLines(saida));
+        try (Stream<Path> arquivos = Files.list(dir)) {
+            assertEquals(2, arquivos.count(), "os runs temporários devem ser apagados");
+        }
+    }
+
+    @Test
+    void deveManterMarcasCombinantesNaPalavraESepararEmojis() throws IOException {
+        // "ação" e "caoa" em NFD (a + U+0303, c + U+0327); o emoji separa "x" de "y"
+        String nfd = Normalizer.normalize("ação Caoa", Normalizer.Form.NFD);
+        Path corpus = escrever(nfd + " x\uD83D\uDE00y");
+        Path saida = dir.resolve("grupos.txt");
+
+        ExternalAnagramGrouper.agrupar(corpus, saida, 1 << 20, LetterFolding.SEM_ACENTOS, dir);
+
+        assertEquals(List.of("acao caoa", "x", "y"), Files.readAllLines(saida));
+    }
+
+    @Test
+    void naoDevePartirParesSubstitutosNaFronteiraDoBloco() throws IOException {
+        String gotico = new String(Character.toChars(0x10330));
+        // o par substituto começa no último char do primeiro bloco de leitura (8192 chars)
+        Path corpus = escrever(" ".repeat(8191) + gotico + "a");
+        Path saida = dir.resolve("grupos.txt");
+
+        ExternalAnagramGrouper.agrupar(corpus, saida, 1 << 20, LetterFolding.NENHUMA, dir);
+
+        assertEquals(List.of(gotico + "a"), Files.readAllLines(saida));
+    }
+
+    @Test
+    void deveRecusarOrcamentoNaoPositivo() throws IOException {
+        Path corpus = escrever("abc");
+        assertThrows(IllegalArgumentException.class, () -> ExternalAnagramGrouper.agrupar(
+                corpus, dir.resolve("x"), 0, LetterFolding.NENHUMA, dir));
+    }
+
+    private static List<String> emMemoria(String texto) {
+        Map<String, TreeSet<String>> classes = new TreeMap<>();
+        for (String palavra : texto.split("\\s+")) {
+            if (!palavra.isEmpty()) {
+                classes.computeIfAbsent(ExternalAnagramGrouper.assinatura(palavra), k -> new TreeSet<>()).add(palavra);
+            }
+        }
+        List<String> linhas = new ArrayList<>();
+        classes.values().forEach(palavras -> linhas.add(String.join(" ", palavras)));
+        return linhas;
+    }
+
+    private Path escrever(String texto) throws IOException {
+        Path corpus = dir.resolve("corpus.txt");
+        Files.writeString(corpus, texto, StandardCharsets.UTF_8);
+        return corpus;
+    }
+}
@@ -0,0 +1,106 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrontCodedFormatTest {
+
+    @Test
+    void deveCodificarEDecodificarSemPerdas() throws IOException {
+        for (boolean deflate : new boolean[]{false, true}) {
+            List<String> anagramas = AnagramGenerator.gerarAnagramas("abcdefg");
+            assertEquals(anagramas, decodificar(codificar(anagramas, deflate)));
+        }
+    }
+
+    @Test
+    void deveEncolherEnumeracoesLexicograficas() throws IOException {
+        List<String> anagramas = AnagramGenerator.gerarAnagramas("abcdefgh");
+        long texto = anagramas.size() * 9L;
+        assertTrue(codificar(anagramas, false).length * 3 < texto * 2);
+        assertTrue(codificar(anagramas, true).length * 10 < texto);
+    }
+
+    @Test
+    void naoDevePartirParesSubstitutos() throws IOException {
+        String g1 = new String(Character.toChars(0x10330));
+        String g2 = new String(Character.toChars(0x10331));
+        // mesmo substituto alto: um prefixo ingênuo terminaria no meio do par
+        List<String> textos = List.of("a" + g1, "a" + g2, "é" + g2 + "x", "", "longo".repeat(30_000));
+        assertEquals(1, FrontCodedWriter.prefixoComum("a" + g1, "a" + g2));
+        assertEquals(textos, decodificar(codificar(textos, false)));
+        assertEquals(textos, decodificar(codificar(textos, true)));
+    }
+
+    @Test
+    void terminarDeveCompletarOFluxoSemFecharODestino() throws IOException {
+        List<String> anagramas = AnagramGenerator.gerarAnagramas("abcdef");
+        for (boolean deflate : new boolean[]{false, true}) {
+            boolean[] fechado = {false};
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    fechado[0] = true;
+                }
+            };
+            FrontCodedWriter escritor = new FrontCodedWriter(bytes, deflate);
+            for (String anagrama : anagramas) {
+                escritor.gravar(anagrama);
+            }
+            escritor.terminar();
+            assertFalse(fechado[0]);
+            assertEquals(anagramas, decodificar(bytes.toByteArray()));
+        }
+    }
+
+    @Test
+    void deveRecusarArquivoDeOutroFormato() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FrontCodedReader(new ByteArrayInputStream("abc\nacb\n".getBytes())));
+    }
+
+    @Test
+    void deveDetectarArquivoTruncado() throws IOException {
+        byte[] completo = codificar(List.of("abc", "acb"), false);
+        byte[] truncado = Arrays.copyOf(completo, completo.length - 1);
+        assertThrows(UncheckedIOException.class, () -> decodificar(truncado));
+    }
+
+    @Test
+    void deveRejeitarVarintForaDoIntervaloEmVezDeTerminar() throws IOException {
+        byte[] valido = codificar(List.of("abc"), false);
+        ByteArrayOutputStream corrompido = new ByteArrayOutputStream();
+        corrompido.write(valido, 0, 6); // cabeçalho
+        // prefixo 0xFFFFFFFF: sem a verificação viraria -1, confundido com o fim do arquivo
+        corrompido.write(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F, 0});
+        UncheckedIOException erro = assertThrows(UncheckedIOException.class, () -> decodificar(corrompido.toByteArray()));
+        assertTrue(erro.getCause().getMessage().startsWith("Registro corrompido"), erro.getCause().getMessage());
+    }
+
+    private static byte[] codificar(List<String> textos, boolean deflate) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (FrontCodedWriter escritor = new FrontCodedWriter(bytes, deflate)) {
+            for (String texto : textos) {
+                escritor.gravar(texto);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<String> decodificar(byte[] bytes) throws IOException {
+        List<String> textos = new ArrayList<>();
+        try (FrontCodedReader leitor = new FrontCodedReader(new ByteArrayInputStream(bytes))) {
+            leitor.forEachRemaining(textos::add);
+        }
+        return textos;
+    }
+}
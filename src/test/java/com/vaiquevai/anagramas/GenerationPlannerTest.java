@@ -0,0 +1,72 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenerationPlannerTest {
+
+    private static final long GB = 1L << 30;
+
+    @Test
+    void deveEscolherPorTamanhoDaEntrada() {
+        assertEquals(GenerationPlan.Estrategia.LISTA, GenerationPlanner.planejar("abcdefgh", GB, 8).estrategia());
+        assertEquals(GenerationPlan.Estrategia.VISAO_COMPACTA, GenerationPlanner.planejar("abcdefghi", GB, 8).estrategia());
+        assertEquals(GenerationPlan.Estrategia.VISAO_COMPACTA, GenerationPlanner.planejar("abcdefghij", GB, 8).estrategia());
+
+        GenerationPlan paralelo = GenerationPlanner.planejar("abcdefghijk", GB, 8);
+        assertEquals(GenerationPlan.Estrategia.FLUXO_PARALELO, paralelo.estrategia());
+        assertEquals(32, paralelo.blocosAdiantados());
+
+        assertEquals(GenerationPlan.Estrategia.FLUXO, GenerationPlanner.planejar("abcdefghijk", GB, 1).estrategia());
+        GenerationPlan enorme = GenerationPlanner.planejar("abcdefghijklmnopqrstuvwxyz", GB, 8);
+        assertEquals(GenerationPlan.Estrategia.FLUXO, enorme.estrategia());
+        assertEquals(-1, enorme.total());
+    }
+
+    @Test
+    void poucoHeapDeveEvitarAListaMaterializada() {
+        GenerationPlan plano = GenerationPlanner.planejar("abcdefgh", 1 << 20, 4);
+        assertEquals(GenerationPlan.Estrategia.VISAO_COMPACTA, plano.estrategia());
+        assertTrue(plano.descricao().contains("heap livre"), plano.descricao());
+    }
+
+    @Test
+    void abrirDeveProduzirOsAnagramasEmOrdemEmQualquerEstrategia() {
+        List<String> esperado = AnagramGenerator.gerarAnagramas("dcbae");
+        GenerationPlan[] planos = {
+                GenerationPlanner.planejar("dcbae", GB, 4),
+                GenerationPlanner.planejar("dcbae", 1024, 4),
+                new GenerationPlan("dcbae", GenerationPlan.Estrategia.FLUXO, 5, 120, 0, GB, 1, 1, "teste"),
+                new GenerationPlan("dcbae", GenerationPlan.Estrategia.FLUXO_PARALELO, 5, 120, 0, GB, 4, 7, "teste")
+        };
+        for (GenerationPlan plano : planos) {
+            List<String> obtido = new ArrayList<>();
+            plano.abrir().forEach(obtido::add);
+            assertEquals(esperado, obtido, plano.descricao());
+        }
+    }
+
+    @Test
+    void fluxoParaleloDeveEntregarVariosBlocosEmOrdem() {
+        List<String> esperado = AnagramGenerator.gerarAnagramas("abcdefgh"); // 8 blocos de 7!
+        for (int blocos : new int[]{1, 3, 16}) {
+            GenerationPlan plano = new GenerationPlan("hgfedcba", GenerationPlan.Estrategia.FLUXO_PARALELO, 8, 40_320,
+                    0, GB, 4, blocos, "teste");
+            List<String> obtido = new ArrayList<>();
+            plano.abrir().forEach(obtido::add);
+            assertEquals(esperado, obtido, "blocos=" + blocos);
+        }
+    }
+
+    @Test
+    void planoComOsRecursosDaJvmDeveSerDescritivo() {
+        GenerationPlan plano = GenerationPlanner.planejar("abc");
+        assertEquals(GenerationPlan.Estrategia.LISTA, plano.estrategia());
+        assertTrue(plano.descricao().startsWith("LISTA para 3 letras (6 anagramas"), plano.descricao());
+        assertThrows(IllegalArgumentException.class, () -> GenerationPlanner.planejar("abc", 0, 1));
+    }
+}
@@ -0,0 +1,44 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LetterFoldingTest {
+
+    @Test
+    void semAcentosDeveTratarEntradasEquivalentesComoIguais() {
+        assertEquals("abc", LetterFolding.SEM_ACENTOS.aplicar("Ábc"));
+        assertEquals(AnagramGenerator.gerarAnagramas("abc"),
+                AnagramGenerator.gerarAnagramas("ÁBÇ", LetterFolding.SEM_ACENTOS));
+    }
+
+    @Test
+    void minusculasDevePreservarAcentosEmNfc() {
+        assertEquals("ábc", LetterFolding.MINUSCULAS.aplicar("Ábc"));
+        // "A" + acento agudo combinante (NFD) vira "á" composto
+        assertEquals("ábc", LetterFolding.MINUSCULAS.aplicar("A\u0301bc"));
+    }
+
+    @Test
+    void semAcentosDeveDescartarMarcasCombinantesAvulsas() {
+        assertEquals("abc", LetterFolding.SEM_ACENTOS.aplicar("A\u0301bc"));
+    }
+
+    @Test
+    void deveMapearLetrasForaDaTabela() {
+        assertEquals("ωπ", LetterFolding.SEM_ACENTOS.aplicar("ΏΠ"));
+    }
+
+    @Test
+    void nenhumaDeveManterEntradaOriginal() {
+        assertEquals("Ábc", LetterFolding.NENHUMA.aplicar("Ábc"));
+    }
+
+    @Test
+    void deveDetectarRepeticaoAposCanonicalizar() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> AnagramGenerator.gerarAnagramas("Aa", LetterFolding.MINUSCULAS));
+        assertTrue(ex.getMessage().toLowerCase().contains("distintas"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.vaiquevai.anagramas;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara os kernels escalar e vetorial de {@link LetterSignatures}.
+ * Executar com {@code mvn -Pjmh test-compile exec:exec -Djmh.filtro=LetterSignatures}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LetterSignaturesBenchmark {
+
+    @Param({"8", "24"})
+    int tamanhoPalavra;
+
+    @Param({"escalar", "ativo"})
+    String kernel;
+
+    private byte[][] palavras;
+    private byte[] assinaturas;
+    private byte[] alvo;
+    private SignatureKernel implementacao;
+
+    @Setup
+    public void preparar() {
+        implementacao = kernel.equals("escalar") ? LetterSignatures.escalar() : LetterSignatures.ativo();
+        SplittableRandom random = new SplittableRandom(42);
+        palavras = new byte[100_000][tamanhoPalavra];
+        for (byte[] palavra : palavras) {
+            for (int i = 0; i < palavra.length; i++) {
+                palavra[i] = (byte) ('a' + random.nextInt(26));
+            }
+        }
+        assinaturas = LetterSignatures.calcularLote(palavras, implementacao);
+        alvo = Arrays.copyOf(assinaturas, LetterSignatures.TAMANHO);
+    }
+
+    @Benchmark
+    public byte[] calcularLote() {
+        return LetterSignatures.calcularLote(palavras, implementacao);
+    }
+
+    @Benchmark
+    public int[] buscarIguais() {
+        return LetterSignatures.buscarIguais(alvo, assinaturas, implementacao);
+    }
+}
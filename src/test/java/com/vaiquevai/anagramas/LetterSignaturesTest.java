@@ -0,0 +1,55 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LetterSignaturesTest {
+
+    private static byte[][] lote(String... palavras) {
+        byte[][] bytes = new byte[palavras.length][];
+        for (int i = 0; i < palavras.length; i++) {
+            bytes[i] = palavras[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return bytes;
+    }
+
+    @Test
+    void anagramasDevemTerMesmaAssinatura() {
+        byte[] assinaturas = LetterSignatures.calcularLote(lote("Roma", "amor", "mora", "ramo", "remo"));
+        assertTrue(LetterSignatures.mesmaAssinatura(assinaturas, 0, 1));
+        assertTrue(LetterSignatures.mesmaAssinatura(assinaturas, 2, 3));
+        assertFalse(LetterSignatures.mesmaAssinatura(assinaturas, 0, 4));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, LetterSignatures.buscarIguais(LetterSignatures.calcular("maro"), assinaturas));
+    }
+
+    @Test
+    void deveIgnorarNaoLetras() {
+        assertArrayEquals(LetterSignatures.calcular("ab"), LetterSignatures.calcular("a-b {1}"));
+    }
+
+    @Test
+    void kernelAtivoDeveConcordarComEscalar() {
+        SplittableRandom random = new SplittableRandom(5);
+        byte[][] palavras = new byte[2000][];
+        for (int i = 0; i < palavras.length; i++) {
+            palavras[i] = new byte[random.nextInt(40)];
+            for (int j = 0; j < palavras[i].length; j++) {
+                palavras[i][j] = (byte) random.nextInt(256); // inclui não-letras e bytes negativos
+            }
+        }
+        byte[] escalar = LetterSignatures.calcularLote(palavras, LetterSignatures.escalar());
+        byte[] ativo = LetterSignatures.calcularLote(palavras, LetterSignatures.ativo());
+        assertArrayEquals(escalar, ativo, "Implementação " + LetterSignatures.implementacao());
+        assertArrayEquals(LetterSignatures.buscarIguais(escalar, escalar, LetterSignatures.escalar()),
+                LetterSignatures.buscarIguais(ativo, ativo, LetterSignatures.ativo()));
+    }
+
+    @Test
+    void deveRejeitarPalavrasLongasDemais() {
+        assertThrows(IllegalArgumentException.class, () -> LetterSignatures.calcularLote(new byte[][]{new byte[256]}));
+    }
+}
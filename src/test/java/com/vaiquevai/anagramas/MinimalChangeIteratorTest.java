@@ -0,0 +1,94 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinimalChangeIteratorTest {
+
+    @Test
+    void deveSeguirOrdemDeSteinhausJohnsonTrotter() {
+        List<String> esperado = List.of("abc", "acb", "cab", "cba", "bca", "bac");
+        List<String> obtido = AnagramGenerator.gerarAnagramasTrocaMinima("cab").stream()
+                .map(AdjacentSwapPermutation::anagrama)
+                .toList();
+        assertEquals(esperado, obtido);
+    }
+
+    @Test
+    void cadaResultadoDeveDiferirDoAnteriorPelaTrocaInformada() {
+        List<AdjacentSwapPermutation> resultado = AnagramGenerator.gerarAnagramasTrocaMinima("abcdef");
+        assertTrue(resultado.get(0).isPrimeira());
+        assertEquals(-1, resultado.get(0).direita());
+
+        Set<String> distintos = new HashSet<>();
+        for (int k = 0; k < resultado.size(); k++) {
+            assertTrue(distintos.add(resultado.get(k).anagrama()), "Permutação repetida");
+            if (k == 0) {
+                continue;
+            }
+            char[] anterior = resultado.get(k - 1).anagrama().toCharArray();
+            AdjacentSwapPermutation atual = resultado.get(k);
+            char t = anterior[atual.esquerda()];
+            anterior[atual.esquerda()] = anterior[atual.direita()];
+            anterior[atual.direita()] = t;
+            assertEquals(atual.anagrama(), new String(anterior));
+        }
+        assertEquals(720, distintos.size());
+    }
+
+    @Test
+    void deveCoincidirComOSjtPorVarreduraDoMaiorMovel() {
+        String letras = "abcdefg";
+        List<String> obtido = AnagramGenerator.gerarAnagramasTrocaMinima(letras).stream()
+                .map(AdjacentSwapPermutation::anagrama)
+                .toList();
+        assertEquals(sjtPorVarredura(letras), obtido);
+    }
+
+    /** Referência direta: a cada passo procura o maior elemento móvel em O(n). */
+    private static List<String> sjtPorVarredura(String letras) {
+        int n = letras.length();
+        int[] perm = new int[n];
+        int[] direcao = new int[n];
+        for (int i = 0; i < n; i++) {
+            perm[i] = i;
+            direcao[i] = -1;
+        }
+        List<String> resultado = new ArrayList<>();
+        while (true) {
+            StringBuilder sb = new StringBuilder();
+            for (int v : perm) {
+                sb.append(letras.charAt(v));
+            }
+            resultado.add(sb.toString());
+            int pos = -1;
+            for (int i = 0; i < n; i++) {
+                int vizinho = i + direcao[perm[i]];
+                if (vizinho >= 0 && vizinho < n && perm[vizinho] < perm[i] && (pos < 0 || perm[i] > perm[pos])) {
+                    pos = i;
+                }
+            }
+            if (pos < 0) {
+                return resultado;
+            }
+            int movel = perm[pos];
+            int vizinho = pos + direcao[movel];
+            perm[pos] = perm[vizinho];
+            perm[vizinho] = movel;
+            for (int v = movel + 1; v < n; v++) {
+                direcao[v] = -direcao[v];
+            }
+        }
+    }
+
+    @Test
+    void letraUnicaDeveGerarApenasUmResultado() {
+        assertEquals(List.of(new AdjacentSwapPermutation("a", -1)), AnagramGenerator.gerarAnagramasTrocaMinima("a"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscRingBufferTest {
+
+    @Test
+    void deveRespeitarCapacidadeEOrdemComUmProdutor() {
+        MpscRingBuffer<Integer> fila = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(fila.oferecer(i));
+        }
+        assertFalse(fila.oferecer(4));
+        assertEquals(0, fila.retirar());
+        assertTrue(fila.oferecer(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, fila.retirar());
+        }
+        assertNull(fila.retirar());
+    }
+
+    @Test
+    void deveEntregarTudoComVariosProdutores() throws InterruptedException {
+        int produtores = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        int porProdutor = 20_000;
+        MpscRingBuffer<long[]> fila = new MpscRingBuffer<>(64);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < produtores; p++) {
+            int produtor = p;
+            Thread t = new Thread(() -> {
+                for (long i = 0; i < porProdutor; i++) {
+                    long[] elemento = {produtor, i};
+                    while (!fila.oferecer(elemento)) {
+                        Thread.yield(); // com poucos núcleos, girar só atrasa o consumidor
+                    }
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        long[] proximoEsperado = new long[produtores];
+        for (int recebidos = 0; recebidos < produtores * porProdutor; ) {
+            long[] elemento = fila.retirar();
+            if (elemento == null) {
+                Thread.yield();
+                continue;
+            }
+            // a ordem de cada produtor é preservada
+            assertEquals(proximoEsperado[(int) elemento[0]]++, elemento[1]);
+            recebidos++;
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertNull(fila.retirar());
+    }
+
+    @Test
+    void deveExigirPotenciaDeDois() {
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<>(6));
+        assertThrows(NullPointerException.class, () -> new MpscRingBuffer<String>(2).oferecer(null));
+    }
+}
@@ -0,0 +1,48 @@
+package com.vaiquevai.anagramas;
+
+import jdk.incubator.foreign.ResourceScope;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapAnagramsTest {
+
+    @Test
+    void deveReproduzirAListaDoHeap() {
+        try (ResourceScope escopo = ResourceScope.newConfinedScope()) {
+            OffHeapAnagrams anagramas = OffHeapAnagrams.gravar("gfedcba", escopo);
+            List<String> lidos = new ArrayList<>();
+            anagramas.forEach(lidos::add);
+            assertEquals(AnagramGenerator.gerarAnagramas("gfedcba"), lidos);
+            assertEquals(5040, anagramas.tamanho());
+            assertEquals(5040L * 4, anagramas.bytesOcupados());
+            assertEquals("gfedcba", anagramas.get(5039));
+        }
+    }
+
+    @Test
+    void deveFalharAposFecharOEscopo() {
+        OffHeapAnagrams anagramas;
+        try (ResourceScope escopo = ResourceScope.newConfinedScope()) {
+            anagramas = OffHeapAnagrams.gravar("abcd", escopo);
+            assertEquals("abdc", anagramas.get(1));
+        }
+        assertThrows(IllegalStateException.class, () -> anagramas.get(0));
+    }
+
+    @Test
+    void deveRejeitarEntradasLongasDemais() {
+        try (ResourceScope escopo = ResourceScope.newConfinedScope()) {
+            IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                    () -> OffHeapAnagrams.gravar("abcdefghijklmn", escopo));
+            assertEquals("Armazenamento fora do heap suporta até 13 letras: 14 letras exigiriam "
+                    + 87_178_291_200L * 7 + " bytes.", erro.getMessage());
+            assertThrows(IllegalArgumentException.class,
+                    () -> OffHeapAnagrams.gravar("abcdefghijklmnopqrstuvwxyz", escopo));
+            assertThrows(IndexOutOfBoundsException.class, () -> OffHeapAnagrams.gravar("ab", escopo).get(2));
+        }
+    }
+}
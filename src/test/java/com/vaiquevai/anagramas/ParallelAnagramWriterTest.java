@@ -0,0 +1,62 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelAnagramWriterTest {
+
+    @Test
+    void saidaDeveSerIdenticaASequencial() throws IOException {
+        for (String entrada : new String[]{"a", "cba", "hgfedcba", "abcdefghi"}) {
+            for (int trabalhadores : new int[]{1, 3, 8}) {
+                assertArrayEquals(sequencial(entrada, StandardCharsets.UTF_8),
+                        paralelo(entrada, StandardCharsets.UTF_8, trabalhadores), entrada + " / " + trabalhadores);
+            }
+        }
+    }
+
+    @Test
+    void deveCodificarLetrasForaDoAsciiEmQualquerCharset() throws IOException {
+        String entrada = "çãéb" + new String(Character.toChars(0x10330));
+        for (Charset charset : new Charset[]{StandardCharsets.UTF_8, StandardCharsets.UTF_16, StandardCharsets.ISO_8859_1}) {
+            assertArrayEquals(sequencial(entrada, charset), paralelo(entrada, charset, 4), charset.name());
+        }
+    }
+
+    @Test
+    void prefixoDeveLimitarOTamanhoDosBlocos() {
+        assertEquals(3, ParallelAnagramWriter.tamanhoPrefixo(11, 2)); // 8! linhas por bloco
+        assertEquals(2, ParallelAnagramWriter.tamanhoPrefixo(5, 4)); // 20 blocos para 16 desejados
+        assertEquals(3, ParallelAnagramWriter.tamanhoPrefixo(3, 64)); // um bloco por anagrama
+    }
+
+    @Test
+    void deveValidarParametros() {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        assertThrows(IllegalArgumentException.class,
+                () -> ParallelAnagramWriter.gravar("abc", saida, StandardCharsets.UTF_8, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> ParallelAnagramWriter.gravar("abca", saida, StandardCharsets.UTF_8, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> ParallelAnagramWriter.gravar("abcdefghijklmnopqrstu", saida, StandardCharsets.UTF_8, 2));
+    }
+
+    private static byte[] paralelo(String entrada, Charset charset, int trabalhadores) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        assertEquals(AnagramGenerator.contarAnagramas(entrada),
+                ParallelAnagramWriter.gravar(entrada, saida, charset, trabalhadores));
+        return saida.toByteArray();
+    }
+
+    private static byte[] sequencial(String entrada, Charset charset) {
+        StringBuilder texto = new StringBuilder();
+        AnagramGenerator.iterarAnagramas(entrada).forEachRemaining(a -> texto.append(a).append(System.lineSeparator()));
+        return texto.toString().getBytes(charset);
+    }
+}
@@ -0,0 +1,82 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermutationDagTest {
+
+    @Test
+    void deveEnumerarNaMesmaOrdemDoGerador() {
+        PermutationDag dag = PermutationDag.construir("edcba");
+        List<String> enumerados = new ArrayList<>();
+        dag.forEach(enumerados::add);
+        assertEquals(AnagramGenerator.gerarAnagramas("edcba"), enumerados);
+        assertEquals(120, dag.contar());
+        assertEquals(32, dag.nosAlcancaveis());
+    }
+
+    @Test
+    void rankEDesranqueamentoDevemSerInversos() {
+        PermutationDag dag = PermutationDag.construir("abcdef");
+        List<String> todos = AnagramGenerator.gerarAnagramas("abcdef");
+        for (int rank = 0; rank < todos.size(); rank += 7) {
+            assertEquals(todos.get(rank), dag.desranquear(rank));
+            assertEquals(rank, dag.rank(todos.get(rank)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> dag.desranquear(720));
+    }
+
+    @Test
+    void devePodarComRestricoesPosicionais() {
+        AnagramConstraints restricoes = AnagramConstraints.nenhuma().comPrefixo("c").comSufixo("a");
+        PermutationDag dag = PermutationDag.construir("abcde", restricoes);
+        List<String> enumerados = new ArrayList<>();
+        dag.forEach(enumerados::add);
+        assertEquals(AnagramGenerator.gerarAnagramas("abcde", restricoes), enumerados);
+        assertEquals(AnagramGenerator.contarAnagramas("abcde", restricoes), dag.contar());
+        for (int rank = 0; rank < enumerados.size(); rank++) {
+            assertEquals(rank, dag.rank(enumerados.get(rank)));
+        }
+    }
+
+    @Test
+    void pertinenciaDeveRecusarForaDoConjunto() {
+        PermutationDag dag = PermutationDag.construir("abc", AnagramConstraints.nenhuma().comPrefixo("b"));
+        assertTrue(dag.contem("bca"));
+        assertFalse(dag.contem("abc"));
+        assertFalse(dag.contem("bc"));
+        assertFalse(dag.contem("bcaa"));
+        assertFalse(dag.contem("bcx"));
+        assertFalse(dag.contem(null));
+        assertThrows(IllegalArgumentException.class, () -> dag.rank("cab"));
+    }
+
+    @Test
+    void deveSerializarDezesseisLetrasEmPoucosKilobytes() throws IOException {
+        PermutationDag dag = PermutationDag.construir("abcdefghijklmnop");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        dag.salvar(bytes);
+        assertTrue(bytes.size() < 16 * 1024, "tamanho: " + bytes.size());
+
+        PermutationDag lido = PermutationDag.carregar(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(PermutationRank.fatorial(16), lido.contar());
+        assertEquals(dag.desranquear(123_456_789_012L), lido.desranquear(123_456_789_012L));
+        assertEquals(123_456_789_012L, lido.rank(dag.desranquear(123_456_789_012L)));
+    }
+
+    @Test
+    void deveRecusarAdjacenciasEEntradasLongas() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PermutationDag.construir("abc", AnagramConstraints.nenhuma().semAdjacencia("a", "b")));
+        assertThrows(IllegalArgumentException.class, () -> PermutationDag.construir("abcdefghijklmnopqrstu"));
+        assertThrows(IllegalArgumentException.class,
+                () -> PermutationDag.carregar(new ByteArrayInputStream("XXXX".getBytes())));
+    }
+}
@@ -0,0 +1,59 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermutationRankTest {
+
+    @Test
+    void desranquearDeveSeguirOrdemLexicografica() {
+        List<String> todos = AnagramGenerator.gerarAnagramas("abcde");
+        for (int rank = 0; rank < todos.size(); rank++) {
+            int[] perm = new int[5];
+            PermutationRank.desranquear(rank, 5, perm);
+            StringBuilder sb = new StringBuilder();
+            for (int indice : perm) {
+                sb.append((char) ('a' + indice));
+            }
+            assertEquals(todos.get(rank), sb.toString());
+            assertEquals(rank, PermutationRank.ranquear(perm, 5));
+        }
+    }
+
+    @Test
+    void fragmentosConcatenadosDevemReproduzirAListaCompleta() {
+        for (int fragmentos : new int[]{1, 3, 7, 24, 50}) {
+            List<String> concatenado = new ArrayList<>();
+            for (int i = 0; i < fragmentos; i++) {
+                concatenado.addAll(AnagramGenerator.gerarFragmento("dcba", i, fragmentos));
+            }
+            assertEquals(AnagramGenerator.gerarAnagramas("dcba"), concatenado, "fragmentos=" + fragmentos);
+        }
+    }
+
+    @Test
+    void fragmentoDeveSaltarDiretoParaSeuInicio() {
+        // 20 letras: 20! permutações; o último fragmento começa perto do fim sem gerar o que vem antes
+        AnagramIterator it = AnagramGenerator.iterarFragmento("abcdefghijklmnopqrst", 999, 1000);
+        assertEquals(PermutationRank.inicioFragmento(PermutationRank.fatorial(20), 999, 1000), it.proximoRank());
+        assertTrue(it.hasNext());
+        it.next();
+    }
+
+    @Test
+    void contarDeveRetornarFatorial() {
+        assertEquals(6, AnagramGenerator.contarAnagramas("abc"));
+        assertEquals(2_432_902_008_176_640_000L, AnagramGenerator.contarAnagramas("abcdefghijklmnopqrst"));
+        assertThrows(IllegalArgumentException.class, () -> AnagramGenerator.contarAnagramas("abcdefghijklmnopqrstu"));
+    }
+
+    @Test
+    void deveRejeitarFragmentoInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> AnagramGenerator.gerarFragmento("abc", 3, 3));
+        assertThrows(IllegalArgumentException.class, () -> AnagramGenerator.gerarFragmento("abc", 0, 0));
+    }
+}
@@ -0,0 +1,38 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermutationTemplatesTest {
+
+    @Test
+    void modeloDeveListarIndicesEmOrdemLexicografica() {
+        assertArrayEquals(new byte[]{0, 1, 2, 0, 2, 1, 1, 0, 2, 1, 2, 0, 2, 0, 1, 2, 1, 0},
+                PermutationTemplates.modelo(3));
+    }
+
+    @Test
+    void modeloDeveSerCompartilhadoEntreAlfabetosDoMesmoTamanho() {
+        assertSame(PermutationTemplates.modelo(6), PermutationTemplates.modelo(6));
+    }
+
+    @Test
+    void deveCoincidirComAEnumeracaoPorIterador() {
+        String gotico = new String(Character.toChars(0x10330)) + new String(Character.toChars(0x10331)) + "c";
+        for (String entrada : new String[]{"a", "hgfedcba", "qrstuvwx", "éção", gotico}) {
+            List<String> esperado = new ArrayList<>();
+            AnagramGenerator.iterarAnagramas(entrada).forEachRemaining(esperado::add);
+            assertEquals(esperado, PermutationTemplates.montarTodos(Alphabet.of(entrada)), entrada);
+        }
+    }
+
+    @Test
+    void deveRecusarTamanhoSemModelo() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PermutationTemplates.modelo(PermutationTemplates.MAXIMO_LETRAS + 1));
+    }
+}
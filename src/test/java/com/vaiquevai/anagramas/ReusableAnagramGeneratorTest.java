@@ -0,0 +1,51 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReusableAnagramGeneratorTest {
+
+    @Test
+    void deveProduzirOMesmoQueOGeradorEstaticoAoLongoDeVariasChamadas() {
+        ReusableAnagramGenerator gerador = new ReusableAnagramGenerator(12);
+        String gotico = new String(Character.toChars(0x10330));
+        for (String entrada : new String[]{"cba", " x ", "hgfedcbaj", "çãé", "ab" + gotico, "abcdefghij", "ba"}) {
+            assertEquals(AnagramGenerator.gerarAnagramas(entrada), gerador.gerarAnagramas(entrada), entrada);
+        }
+    }
+
+    @Test
+    void deveAcrescentarAoDestinoInformado() {
+        ReusableAnagramGenerator gerador = new ReusableAnagramGenerator(4);
+        List<String> destino = new ArrayList<>(List.of("antes"));
+        gerador.gerarAnagramas("ba", destino);
+        assertEquals(List.of("antes", "ab", "ba"), destino);
+    }
+
+    @Test
+    void deveValidarComAsMesmasMensagens() {
+        ReusableAnagramGenerator gerador = new ReusableAnagramGenerator(8);
+        for (String invalida : new String[]{null, "  ", "a1", "abca", "çaç"}) {
+            IllegalArgumentException esperada = assertThrows(IllegalArgumentException.class,
+                    () -> AnagramGenerator.gerarAnagramas(invalida));
+            IllegalArgumentException obtida = assertThrows(IllegalArgumentException.class,
+                    () -> gerador.gerarAnagramas(invalida));
+            assertEquals(esperada.getMessage(), obtida.getMessage());
+        }
+        assertThrows(IllegalArgumentException.class, () -> gerador.gerarAnagramas("abcdefghi"));
+        assertEquals(List.of("a"), gerador.gerarAnagramas("a"), "um erro não deve deixar estado inválido");
+    }
+
+    @Test
+    void daThreadDeveSerUmaInstanciaPorThread() throws Exception {
+        ReusableAnagramGenerator local = ReusableAnagramGenerator.daThread();
+        assertSame(local, ReusableAnagramGenerator.daThread());
+        assertNotSame(local, CompletableFuture.supplyAsync(ReusableAnagramGenerator::daThread).get());
+        assertEquals(ReusableAnagramGenerator.MAXIMO_PADRAO, local.maximoLetras());
+    }
+}
@@ -0,0 +1,63 @@
+package com.vaiquevai.anagramas;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchStatisticsTest {
+
+    @Test
+    void deveContarTodaAArvoreSemRestricoes() {
+        SearchStatistics estatisticas = new SearchStatistics();
+        GenerationResult r = AnagramGenerator.gerarAnagramas("abcd", GenerationLimits.semLimites().comEstatisticas(estatisticas));
+
+        assertEquals(24, r.anagramas().size());
+        assertEquals(1, estatisticas.chamadas());
+        assertEquals(24, estatisticas.folhas());
+        assertEquals(0, estatisticas.podas());
+        long[] esperados = {1, 4, 12, 24, 24}; // n!/(n-d)! nós na profundidade d
+        for (int d = 0; d < esperados.length; d++) {
+            assertEquals(esperados[d], estatisticas.nos(d), "profundidade " + d);
+        }
+        assertEquals(65, estatisticas.nos());
+        assertEquals(5, estatisticas.profundidades());
+    }
+
+    @Test
+    void deveRegistrarPodasPorProfundidade() {
+        SearchStatistics estatisticas = new SearchStatistics();
+        AnagramConstraints restricoes = AnagramConstraints.nenhuma().comPrefixo("b");
+        GenerationResult r = AnagramGenerator.gerarAnagramas("abcd", restricoes,
+                GenerationLimits.semLimites().comEstatisticas(estatisticas));
+
+        assertEquals(6, r.anagramas().size());
+        assertEquals(6, estatisticas.folhas());
+        assertEquals(3, estatisticas.podas(0)); // a, c e d não podem abrir a palavra
+        assertEquals(1, estatisticas.nos(1));
+        assertTrue(estatisticas.nanos(0) >= 0);
+    }
+
+    @Test
+    void deveAgregarChamadasNaMesmaInstancia() {
+        SearchStatistics agregado = new SearchStatistics();
+        GenerationLimits limites = GenerationLimits.semLimites().comEstatisticas(agregado);
+        AnagramGenerator.gerarAnagramas("ab", limites);
+        AnagramGenerator.gerarAnagramas("abc", limites);
+
+        SearchStatistics outro = new SearchStatistics();
+        AnagramGenerator.gerarAnagramas("a", GenerationLimits.semLimites().comEstatisticas(outro));
+        agregado.acumular(outro);
+
+        assertEquals(3, agregado.chamadas());
+        assertEquals(2 + 6 + 1, agregado.folhas());
+        assertEquals(1 + 1 + 1, agregado.nos(0));
+        assertEquals(4, agregado.profundidades());
+        assertTrue(agregado.toString().contains("profundidade 3"));
+    }
+
+    @Test
+    void limitesSemEstatisticasNaoDevemColetar() {
+        assertNull(GenerationLimits.semLimites().estatisticas());
+        assertThrows(NullPointerException.class, () -> GenerationLimits.semLimites().comEstatisticas(null));
+    }
+}